@@ -0,0 +1,94 @@
+package com.application.benchmarks;
+
+import com.application.view.panels.consultation.calendar.ModelDate;
+import com.application.view.panels.consultation.calendar.ModelMonth;
+import com.application.view.panels.consultation.calendar.PanelDay;
+import com.formdev.flatlaf.FlatLightLaf;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cálculos de fechas del calendario (ModelDate), armado de la grilla de días de
+ * un mes (PanelDay.setMonth) y pintado del mes en una imagen fuera de pantalla
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CalendarBenchmark {
+    private static final int WIDTH = 350;
+    private static final int HEIGHT = 330;
+
+    private final ModelDate modelDate = new ModelDate(2025, 6, 15);
+    private final Date date = new Date();
+    private ModelMonth[] months;
+    private int monthIndex;
+    private PanelDay panelDay;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    @Setup
+    public void setUp() {
+        FlatLightLaf.setup();
+        months = new ModelMonth[12];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = new ModelMonth(2025, i + 1);
+        }
+        panelDay = new PanelDay();
+        panelDay.setSize(WIDTH, HEIGHT);
+        panelDay.setMonth(months[0]);
+        panelDay.doLayout();
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public String toFormattedDate() {
+        return modelDate.toFormattedDate();
+    }
+
+    @Benchmark
+    public LocalDate toLocalDate() {
+        return modelDate.toLocalDate();
+    }
+
+    @Benchmark
+    public ModelDate fromDate() {
+        return new ModelDate(date);
+    }
+
+    @Benchmark
+    public PanelDay setMonth() {
+        // Se alterna el mes para que cada llamada arme una grilla distinta
+        monthIndex = (monthIndex + 1) % months.length;
+        panelDay.setMonth(months[monthIndex]);
+        return panelDay;
+    }
+
+    @Benchmark
+    public BufferedImage paintMonth() {
+        panelDay.paint(g2);
+        return image;
+    }
+}
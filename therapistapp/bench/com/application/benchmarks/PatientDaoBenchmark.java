@@ -0,0 +1,47 @@
+package com.application.benchmarks;
+
+import com.application.benchmarks.support.InMemoryDataSource;
+import com.application.benchmarks.support.PatientFixtures;
+import com.application.model.dao.PatientDAO;
+import com.application.model.entities.Patient;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapeo de filas de tbl_patient a entidades (PatientDAO.mapResultSetToPatient),
+ * medido a través de getAllPatients sobre un origen de datos en memoria
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientDaoBenchmark {
+
+    @Param({"1000", "10000"})
+    public int patients;
+
+    private PatientDAO patientDAO;
+
+    @Setup
+    public void setUp() {
+        patientDAO = new PatientDAO(new InMemoryDataSource(PatientFixtures.patientRows(patients, 42L)));
+    }
+
+    @Benchmark
+    public List<Patient> mapAllPatients() {
+        return patientDAO.getAllPatients();
+    }
+}
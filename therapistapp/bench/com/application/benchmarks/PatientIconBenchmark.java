@@ -0,0 +1,98 @@
+package com.application.benchmarks;
+
+import com.application.model.dto.PatientDTO;
+import com.application.utils.PatientPhotoCache;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Obtención del ícono del paciente (PatientDTO.getPatientDTOIcon): lectura y
+ * escalado de la foto cuando no está en caché, y acierto de la caché de miniaturas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PatientIconBenchmark {
+
+    // Lado de la foto original en píxeles: foto de cámara de celular y foto ya recortada
+    @Param({"3000", "800"})
+    public int photoSize;
+
+    private Path photoDir;
+    private PatientDTO patientDTO;
+
+    @Setup
+    public void setUp() throws Exception {
+        photoDir = Files.createTempDirectory("therapistapp-bench");
+        File photo = photoDir.resolve("photo.jpg").toFile();
+        ImageIO.write(createPhoto(photoSize), "jpg", photo);
+
+        patientDTO = new PatientDTO();
+        patientDTO.setPatientDTOId("00000000-0000-0000-0000-000000000001");
+        patientDTO.setPatientDTOPhotoPath(photo.getAbsolutePath());
+        patientDTO.getPatientDTOIcon();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        PatientPhotoCache.getInstance().clear();
+        Files.deleteIfExists(photoDir.resolve("photo.jpg"));
+        Files.deleteIfExists(photoDir);
+    }
+
+    @Benchmark
+    public Icon cachedIcon() {
+        return patientDTO.getPatientDTOIcon();
+    }
+
+    @Benchmark
+    public Icon scaledIcon(ColdCache coldCache) {
+        return patientDTO.getPatientDTOIcon();
+    }
+
+    /**
+     * Vacía la caché de miniaturas antes de cada llamada para medir la lectura
+     * y el escalado de la foto
+     */
+    @State(Scope.Thread)
+    public static class ColdCache {
+
+        @Setup(Level.Invocation)
+        public void clear() {
+            PatientPhotoCache.getInstance().clear();
+        }
+    }
+
+    private static BufferedImage createPhoto(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setPaint(new GradientPaint(0, 0, Color.ORANGE, size, size, Color.BLUE));
+        g2.fillRect(0, 0, size, size);
+        g2.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,55 @@
+package com.application.benchmarks;
+
+import com.application.benchmarks.support.InMemoryDataSource;
+import com.application.benchmarks.support.PatientFixtures;
+import com.application.controllers.entities.PatientController;
+import com.application.model.dto.PatientDTO;
+import com.application.services.PatientService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Búsqueda de pacientes (PatientController.getPatientsThatMatch) sobre el
+ * índice en memoria ya construido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PatientSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int patients;
+
+    // Término corto (muchos resultados), apellido parcial, DNI parcial y sin resultados
+    @Param({"a", "gonz", "1000012", "zzz"})
+    public String term;
+
+    private PatientController patientController;
+
+    @Setup
+    public void setUp() throws Exception {
+        PatientService patientService = new PatientService(new InMemoryDataSource(PatientFixtures.patientRows(patients, 42L)));
+        patientController = new PatientController(patientService);
+        // La primera búsqueda construye el índice
+        patientController.getPatientsThatMatch("");
+    }
+
+    @Benchmark
+    public List<PatientDTO> search() throws Exception {
+        return patientController.getPatientsThatMatch(term);
+    }
+}
@@ -0,0 +1,58 @@
+package com.application.benchmarks;
+
+import com.application.benchmarks.support.InMemoryDataSource;
+import com.application.benchmarks.support.PatientFixtures;
+import com.application.model.dto.PatientDTO;
+import com.application.services.PatientService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversión de entidades a DTO en PatientService (incluye la verificación de
+ * la foto en disco y la reconstrucción del índice de búsqueda) y lectura por id
+ * con la caché de pacientes. Restar PatientDaoBenchmark para aislar la conversión.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int patients;
+
+    private PatientService patientService;
+    private String patientId;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Map<String, Object>> rows = PatientFixtures.patientRows(patients, 42L);
+        patientService = new PatientService(new InMemoryDataSource(rows));
+        patientId = (String) rows.get(0).get("patient_id");
+    }
+
+    @Benchmark
+    public List<PatientDTO> convertAllPatients() throws Exception {
+        return patientService.getAllPatients();
+    }
+
+    @Benchmark
+    public PatientDTO getPatientByIdCached() throws Exception {
+        return patientService.getPatientById(patientId);
+    }
+}
@@ -0,0 +1,144 @@
+package com.application.benchmarks.support;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * DataSource en memoria para los benchmarks: toda consulta devuelve las mismas
+ * filas fijas, de modo que se mide el mapeo y la conversión sin red ni MySQL.
+ * Solo implementa lo que usan los DAO (prepareStatement, parámetros,
+ * executeQuery y los getters del ResultSet por nombre de columna).
+ */
+public class InMemoryDataSource implements DataSource {
+    private final List<Map<String, Object>> rows;
+
+    /**
+     * @param rows filas a devolver, cada una como columna → valor
+     */
+    public InMemoryDataSource(List<Map<String, Object>> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement", "createStatement" -> newStatement();
+            case "getAutoCommit", "isValid" -> true;
+            case "isClosed" -> false;
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    private PreparedStatement newStatement() {
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> newResultSet();
+            case "executeUpdate" -> 1;
+            case "executeBatch" -> new int[0];
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private ResultSet newResultSet() {
+        int[] cursor = {-1};
+        Object[] lastValue = {null};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++cursor[0] < rows.size();
+                case "wasNull":
+                    return lastValue[0] == null;
+                case "close":
+                    return null;
+                default:
+                    break;
+            }
+            if (method.getName().startsWith("get") && args != null && args.length == 1 && args[0] instanceof String column) {
+                Object value = rows.get(cursor[0]).get(column);
+                lastValue[0] = value;
+                if (value == null) {
+                    return defaultValue(method.getReturnType());
+                }
+                return method.getReturnType() == String.class ? value.toString() : value;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return null;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException("No es un wrapper");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.application.benchmarks.support;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Filas de tbl_patient generadas de forma determinista para los benchmarks
+ */
+public final class PatientFixtures {
+    private static final String[] NAMES = {
+        "juan", "maría", "josé", "lucía", "martín", "sofía", "diego", "valentina",
+        "nicolás", "camila", "matías", "florencia", "agustín", "julieta", "tomás", "milagros"
+    };
+    private static final String[] LAST_NAMES = {
+        "gonzález", "rodríguez", "gómez", "fernández", "lópez", "díaz", "martínez", "pérez",
+        "garcía", "sánchez", "romero", "sosa", "álvarez", "torres", "ruiz", "ramírez"
+    };
+    private static final String[] OCCUPATIONS = {"docente", "abogado", "estudiante", "médica", "comerciante"};
+
+    private PatientFixtures() {
+    }
+
+    /**
+     * @param count cantidad de pacientes
+     * @param seed semilla para que las filas sean reproducibles
+     * @return filas con las columnas de tbl_patient
+     */
+    public static List<Map<String, Object>> patientRows(int count, long seed) {
+        Random random = new Random(seed);
+        UUID cityId = new UUID(seed, seed);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Map<String, Object> row = new HashMap<>();
+            row.put("patient_id", new UUID(random.nextLong(), random.nextLong()).toString());
+            row.put("patient_dni", String.format("%08d", 10_000_000 + i));
+            row.put("patient_name", name);
+            row.put("patient_last_name", lastName);
+            row.put("patient_birth_date", Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000))));
+            row.put("patient_occupation", OCCUPATIONS[random.nextInt(OCCUPATIONS.length)]);
+            row.put("patient_phone", "11" + (40_000_000 + random.nextInt(9_999_999)));
+            row.put("patient_email", name.charAt(0) + lastName + i + "@mail.com");
+            row.put("city_id", cityId.toString());
+            row.put("patient_address", "calle " + (1 + random.nextInt(200)));
+            row.put("patient_address_number", 1 + random.nextInt(5000));
+            row.put("patient_address_floor", random.nextInt(10));
+            row.put("patient_address_department", random.nextBoolean() ? "a" : null);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
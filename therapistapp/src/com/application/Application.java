@@ -1,41 +1,60 @@
 package com.application;
 
+import com.application.controllers.entities.ControllerRegistry;
+import com.application.model.database.ConnectionPool;
+import com.application.model.database.SchemaMigrator;
+import com.application.model.database.metrics.InstrumentedDataSource;
 import com.application.utils.ApplicationFilesManager;
+import com.application.utils.EdtExecutor;
+import com.application.utils.EdtWatchdog;
+import com.application.utils.StartupTimer;
+import com.application.view.SplashWindow;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.FlatLaf;
+import com.formdev.flatlaf.extras.FlatSVGIcon;
 import com.formdev.flatlaf.fonts.roboto.FlatRobotoFont;
 import com.formdev.flatlaf.themes.FlatMacDarkLaf;
 import java.awt.Component;
 import java.awt.Font;
+import java.io.IOException;
 import javax.swing.UIManager;
 import com.application.view.MainForm;
-import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.sql.DataSource;
 import raven.toast.Notifications;
 
 public class Application extends javax.swing.JFrame {
 
+    private static final Logger LOGGER = Logger.getLogger(Application.class.getName());
+    private static final String SVG_PATH = "com/application/view/resources/svg/";
+    private static final String[] STARTUP_ICONS = {
+        "0.svg", "1.svg", "menu_left.svg", "menu_right.svg", "light.svg", "dark.svg", "error.svg"
+    };
+    // Permite generar el archivo AppCDS: la aplicación termina apenas se muestra la ventana principal
+    private static final String EXIT_AFTER_STARTUP_PROPERTY = "therapistapp.exitAfterStartup";
+    // Vigilancia de bloqueos del EDT: se desactiva con -Dtherapistapp.edtWatchdog=false
+    private static final String EDT_WATCHDOG_PROPERTY = "therapistapp.edtWatchdog";
+    private static final String EDT_WATCHDOG_THRESHOLD_PROPERTY = "therapistapp.edtWatchdog.thresholdMs";
+    private static final long DEFAULT_EDT_STALL_THRESHOLD_MS = 500;
+    // Con -Dtherapistapp.daoMetrics=false los DAO usan el pool sin medición
+    private static final String DAO_METRICS_PROPERTY = "therapistapp.daoMetrics";
+
     private static Application app;
     private final MainForm mainForm;
 
-    public Application() {
-        try {
-            new ApplicationFilesManager().ensureBaseFolders();
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(
-                this,
-                "Error al crear carpetas de datos:\n" + ex.getMessage(),
-                "Error de archivos",
-                JOptionPane.ERROR_MESSAGE
-            );
-        }
-        
+    public Application(ControllerRegistry controllerRegistry) {
         initComponents();
         setExtendedState(JFrame.MAXIMIZED_BOTH);
         setLocationRelativeTo(null);
-        mainForm = new MainForm();
+        mainForm = new MainForm(controllerRegistry);
         setContentPane(mainForm);
         getRootPane().putClientProperty(FlatClientProperties.FULL_WINDOW_CONTENT, true);
         Notifications.getInstance().setJFrame(this);
@@ -71,15 +90,146 @@ public class Application extends javax.swing.JFrame {
         pack();
     }// </editor-fold>//GEN-END:initComponents
 
-    public static void main(String args[]) {
-        FlatRobotoFont.install();
-        FlatLaf.registerCustomDefaultsSource("raven.theme");
-        UIManager.put("defaultFont", new Font(FlatRobotoFont.FAMILY, Font.PLAIN, 13));
-        FlatMacDarkLaf.setup();
+    public static void main(String args[]) throws Exception {
+        StartupTimer startupTimer = new StartupTimer();
+
+        startupTimer.run("Look and feel", () -> {
+            FlatRobotoFont.install();
+            FlatLaf.registerCustomDefaultsSource("raven.theme");
+            UIManager.put("defaultFont", new Font(FlatRobotoFont.FAMILY, Font.PLAIN, 13));
+            FlatMacDarkLaf.setup();
+        });
+
+        SplashWindow[] splash = new SplashWindow[1];
+        startupTimer.run("Ventana de presentación", () -> java.awt.EventQueue.invokeAndWait(() -> {
+            splash[0] = new SplashWindow();
+            splash[0].setVisible(true);
+        }));
+
+        // Las conexiones, el esquema, las ciudades, las carpetas y los íconos se preparan en paralelo
+        ConnectionPool connectionPool = new ConnectionPool();
+        // Las sentencias de los DAO se miden y se publican por JMX y JFR salvo que se desactive
+        DataSource dataSource = Boolean.parseBoolean(System.getProperty(DAO_METRICS_PROPERTY, "true"))
+                ? new InstrumentedDataSource(connectionPool)
+                : connectionPool;
+        ControllerRegistry controllerRegistry = new ControllerRegistry(dataSource);
+        // EXIT_ON_CLOSE termina con System.exit: se espera a las operaciones en segundo plano
+        Runtime.getRuntime().addShutdownHook(new Thread(controllerRegistry::close, "controller-registry-shutdown"));
+        installEdtWatchdog(dataSource);
+        ExecutorService warmUpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        CompletableFuture<Void> folders = runPhase(startupTimer, warmUpExecutor, "Carpetas de datos",
+                () -> new ApplicationFilesManager().ensureBaseFolders());
+        CompletableFuture<Void> pool = runPhase(startupTimer, warmUpExecutor, "Pool de conexiones",
+                connectionPool::warmUp);
+        CompletableFuture<Void> schema = runPhase(startupTimer, warmUpExecutor, "Migraciones del esquema",
+                () -> new SchemaMigrator(connectionPool).migrate());
+        CompletableFuture<Void> cities = runPhase(startupTimer, warmUpExecutor, "Registro de ciudades",
+                () -> controllerRegistry.getCityController().loadCities());
+        CompletableFuture<Void> icons = runPhase(startupTimer, warmUpExecutor, "Íconos SVG",
+                Application::preloadIcons);
+
+        startupTimer.run("Espera de precarga", () -> CompletableFuture.allOf(folders, pool, schema, cities, icons)
+                .exceptionally(error -> null)
+                .join());
+        warmUpExecutor.shutdown();
+
+        // Si falla la base de datos la aplicación abre igual; cada pantalla informa el error al usarla
+        logWarmUpFailure(pool, "No se pudo preparar el pool de conexiones");
+        logWarmUpFailure(schema, "No se pudo actualizar el esquema de la base de datos");
+        logWarmUpFailure(cities, "No se pudieron cargar las ciudades");
+        logWarmUpFailure(icons, "No se pudieron precargar los íconos");
 
         java.awt.EventQueue.invokeLater(() -> {
-            app = new Application();
-            app.setVisible(true);
+            try {
+                splash[0].setStatus("Abriendo ventana principal...");
+                startupTimer.run("Ventana principal", () -> {
+                    app = new Application(controllerRegistry);
+                    app.setVisible(true);
+                });
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "No se pudo abrir la ventana principal", e);
+            } finally {
+                splash[0].dispose();
+            }
+            showFoldersError(folders);
+            startupTimer.report();
+
+            if (Boolean.getBoolean(EXIT_AFTER_STARTUP_PROPERTY)) {
+                System.exit(0);
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una fase del arranque en segundo plano midiendo su duración
+     */
+    private static CompletableFuture<Void> runPhase(StartupTimer startupTimer, ExecutorService executor, String phase, StartupTimer.StartupTask task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                startupTimer.run(phase, task);
+                future.complete(null);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Instala la vigilancia del EDT; los bloqueos se guardan en appdata/diagnostics
+     * junto con las sentencias de base de datos que estaban en curso
+     */
+    private static void installEdtWatchdog(DataSource dataSource) {
+        if (!Boolean.parseBoolean(System.getProperty(EDT_WATCHDOG_PROPERTY, "true"))) {
+            return;
+        }
+        Supplier<List<String>> activeStatements = dataSource instanceof InstrumentedDataSource instrumented
+                ? instrumented.getMetrics()::describeActiveStatements
+                : List::of;
+        try {
+            EdtWatchdog.install(
+                    new ApplicationFilesManager().getAppDataDir().resolve("diagnostics"),
+                    Long.getLong(EDT_WATCHDOG_THRESHOLD_PROPERTY, DEFAULT_EDT_STALL_THRESHOLD_MS),
+                    activeStatements);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo iniciar la vigilancia del EDT", e);
+        }
+    }
+
+    /**
+     * Carga los documentos SVG de los íconos que se muestran al abrir la
+     * ventana, para que FlatLaf los tenga en caché al pintarlos por primera vez
+     */
+    private static void preloadIcons() {
+        for (String icon : STARTUP_ICONS) {
+            if (!new FlatSVGIcon(SVG_PATH + icon).hasFound()) {
+                LOGGER.log(Level.WARNING, "No se encontró el ícono {0}", icon);
+            }
+        }
+    }
+
+    private static void logWarmUpFailure(CompletableFuture<Void> phase, String message) {
+        if (phase.isCompletedExceptionally()) {
+            phase.exceptionally(error -> {
+                LOGGER.log(Level.WARNING, message, EdtExecutor.unwrap(error));
+                return null;
+            });
+        }
+    }
+
+    private static void showFoldersError(CompletableFuture<Void> folders) {
+        folders.exceptionally(error -> {
+            Throwable cause = EdtExecutor.unwrap(error);
+            LOGGER.log(Level.SEVERE, "Error al crear carpetas de datos", cause);
+            JOptionPane.showMessageDialog(
+                app,
+                "Error al crear carpetas de datos:\n" + cause.getMessage(),
+                "Error de archivos",
+                JOptionPane.ERROR_MESSAGE
+            );
+            return null;
         });
     }
     
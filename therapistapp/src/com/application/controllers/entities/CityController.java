@@ -14,6 +14,14 @@ public class CityController {
         this.cityService = cityService;
     }
 
+    /**
+     * Carga el registro de ciudades en memoria
+     * @throws BusinessException Si ocurre un error al acceder a los datos
+     */
+    public void loadCities() throws BusinessException {
+        cityService.loadCities();
+    }
+
     /**
      * Obtiene todas las ciudades convertidas a DTO
      * @return Lista de CityDTO
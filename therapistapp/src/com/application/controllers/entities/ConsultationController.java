@@ -2,12 +2,14 @@ package com.application.controllers.entities;
 
 import com.application.exceptions.businessException.BusinessException;
 import com.application.exceptions.businessException.ValidationException;
+import com.application.model.dto.ConsultationAgendaDTO;
 import com.application.model.dto.ConsultationDTO;
 import com.application.model.dto.ConsultationPatientDTO;
 import com.application.services.ConsultationService;
 import java.io.IOException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class ConsultationController {
@@ -101,6 +103,35 @@ public class ConsultationController {
         }
         return consultationService.getConsultationsByDate(consultationDate).stream().toList();
     }
+    
+    /**
+     * Obtiene la agenda (consultas y sus pacientes) para un dia determinado
+     * @param consultationDate fecha de las consultas a buscar
+     * @return lista de agendas para la fecha especificada
+     * @throws ValidationException  Si los datos no son válidos
+     * @throws BusinessException Si ocurre un error durante el proceso
+     */
+    public List<ConsultationAgendaDTO> getConsultationAgendaByDate(String consultationDate) throws ValidationException, BusinessException {
+        if (consultationDate == null || consultationDate.trim().isEmpty()) {
+            throw new ValidationException("La fecha de la consulta es requerida");
+        }
+        return consultationService.getConsultationAgendaByDate(consultationDate);
+    }
+
+    /**
+     * Cuenta las consultas de cada día dentro de un rango de fechas
+     * @param fromDate fecha inicial (yyyy-MM-dd)
+     * @param toDate fecha final (yyyy-MM-dd)
+     * @return cantidad de consultas por fecha (yyyy-MM-dd)
+     * @throws ValidationException  Si los datos no son válidos
+     * @throws BusinessException Si ocurre un error durante el proceso
+     */
+    public Map<String, Integer> getConsultationCountsBetweenDates(String fromDate, String toDate) throws ValidationException, BusinessException {
+        if (isBlank(fromDate) || isBlank(toDate)) {
+            throw new ValidationException("El rango de fechas es requerido");
+        }
+        return consultationService.getConsultationCountsBetweenDates(fromDate, toDate);
+    }
        
     
     /**
@@ -1,18 +1,44 @@
 package com.application.controllers.entities;
 
+import com.application.model.database.ConnectionPool;
+import com.application.services.AsyncServiceFacade;
 import com.application.services.CityService;
 import com.application.services.ConsultationService;
+import com.application.services.PatientCache;
 import com.application.services.PatientService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+public class ControllerRegistry implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ControllerRegistry.class.getName());
 
-public class ControllerRegistry {
     private final ConsultationController consultationController;
     private final PatientController patientController;
     private final CityController cityController;
+    private final AsyncServiceFacade asyncServices;
+    private final PatientCache patientCache;
 
     public ControllerRegistry() {
-        this.consultationController = new ConsultationController(new ConsultationService());
-        this.patientController = new PatientController(new PatientService());
-        this.cityController = new CityController(new CityService());
+        this(new ConnectionPool());
+    }
+
+    /**
+     * Construye los controladores compartiendo un único DataSource entre todos los servicios
+     * @param dataSource pool de conexiones compartido
+     */
+    public ControllerRegistry(DataSource dataSource) {
+        ConsultationService consultationService = new ConsultationService(dataSource);
+        PatientService patientService = new PatientService(dataSource);
+        CityService cityService = new CityService(dataSource);
+        
+        this.consultationController = new ConsultationController(consultationService);
+        this.patientController = new PatientController(patientService);
+        this.cityController = new CityController(cityService);
+        this.asyncServices = new AsyncServiceFacade();
+        // Aciertos y fallos de la caché de pacientes, junto a las métricas de las sentencias
+        this.patientCache = patientService.getPatientCache();
+        this.patientCache.publish();
     }
 
     public ConsultationController getConsultationController() {
@@ -26,5 +52,23 @@ public class ControllerRegistry {
     public CityController getCityController() {
         return cityController;
     }
+
+    /**
+     * @return fachada asíncrona de los servicios, para no acceder a la base de datos desde el EDT
+     */
+    public AsyncServiceFacade getAsyncServices() {
+        return asyncServices;
+    }
+
+    /**
+     * Espera a que terminen las operaciones en segundo plano, libera su ejecutor
+     * y registra las estadísticas finales de la caché de pacientes
+     */
+    @Override
+    public void close() {
+        asyncServices.close();
+        patientCache.unpublish();
+        LOGGER.log(Level.INFO, "Caché de pacientes al cerrar: {0}", patientCache);
+    }
 }
 
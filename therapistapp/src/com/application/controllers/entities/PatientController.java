@@ -9,6 +9,7 @@ import com.application.services.PatientService;
 import java.io.IOException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class PatientController {
@@ -27,6 +28,32 @@ public class PatientController {
         return patientService.getAllPatients();
     }
 
+    /**
+     * Cuenta los pacientes activos
+     * @return cantidad de pacientes
+     * @throws BusinessException Si ocurre un error accediendo a los datos
+     */
+    public int countPatients() throws BusinessException {
+        return patientService.countPatients();
+    }
+
+    /**
+     * Obtiene una página de pacientes ordenada por apellido e id
+     * @param afterLastName apellido del último paciente de la página anterior (null para la primera)
+     * @param afterPatientId id del último paciente de la página anterior (null para la primera)
+     * @param offset filas a saltear a partir de la clave
+     * @param limit tamaño de la página
+     * @return List PatientDTO
+     * @throws ValidationException Si los parámetros de paginación no son válidos
+     * @throws BusinessException Si ocurre un error accediendo a los datos
+     */
+    public List<PatientDTO> getPatientsPage(String afterLastName, String afterPatientId, int offset, int limit) throws ValidationException, BusinessException {
+        if (offset < 0 || limit <= 0) {
+            throw new ValidationException("Parámetros de paginación inválidos");
+        }
+        return patientService.getPatientsPage(afterLastName, afterPatientId, offset, limit);
+    }
+
     /**
      * Inserta un nuevo paciente
      * @param patientDTO Datos del paciente a insertar
@@ -78,6 +105,20 @@ public class PatientController {
         return patientService.getPatientById(patientId);
     }
     
+    /**
+     * Obtiene varios pacientes por sus ids con una única búsqueda
+     * @param patientIds ids de los pacientes a buscar
+     * @return Mapa id → PatientDTO; los pacientes inexistentes no se incluyen
+     * @throws ValidationException Si la lista de ids es nula
+     * @throws BusinessException Si ocurre otro error de negocio
+     */
+    public Map<String, PatientDTO> getPatientsByIds(List<String> patientIds) throws ValidationException, BusinessException {
+        if (patientIds == null) {
+            throw new ValidationException("La lista de Ids de pacientes es requerida");
+        }
+        return patientService.getPatientsByIds(patientIds);
+    }
+    
     /**
      * Obtiene los pacientes de una consulta determinada
      * @param consultationId Identificador de la consulta
@@ -96,17 +137,14 @@ public class PatientController {
     }
     
     /**
-     * Busca pacientes en base a su apellido o su nombre
+     * Busca pacientes en base a su apellido, nombre, DNI o email
      * @param patientData Search term
      * @return Lista de pacientes que coincidan
      * @throws BusinessException  Si ocurre otro error de negocio
      */
     public List<PatientDTO> getPatientsThatMatch(String patientData) throws BusinessException {
-        String term = patientData != null ? patientData.toLowerCase().trim() : "";
-        return patientService.getAllPatients().stream()
-            .filter(p -> p.getPatientDTOLastName().toLowerCase().contains(term)
-                     || p.getPatientDTOName().toLowerCase().contains(term))
-            .toList();
+        String term = patientData != null ? patientData.trim() : "";
+        return patientService.searchPatients(term);
     }
     
     /**
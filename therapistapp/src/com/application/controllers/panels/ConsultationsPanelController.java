@@ -4,6 +4,7 @@ import com.application.controllers.entities.ControllerRegistry;
 import com.application.exceptions.businessException.BusinessException;
 import com.application.exceptions.businessException.ValidationException;
 import com.application.model.dto.CityDTO;
+import com.application.model.dto.ConsultationAgendaDTO;
 import com.application.model.dto.ConsultationDTO;
 import com.application.model.dto.ConsultationPatientDTO;
 import com.application.model.dto.PatientDTO;
@@ -11,6 +12,8 @@ import com.application.view.panels.consultation.ConsultationsPanel;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ConsultationsPanelController {
     
@@ -58,19 +61,14 @@ public class ConsultationsPanelController {
     }
     
     /**
-     * Elimina una consulta existente en el sistema
+     * Elimina en segundo plano una consulta existente en el sistema.
+     * El error (ValidationException, BusinessException o IOException) se propaga en el resultado.
      * @param consultationId de la consulta a eliminar
+     * @return se completa al terminar la eliminación
      */
-    public void deleteConsultation(String consultationId) {
-        try {
-            controllerRegistry.getConsultationController().deleteConsultation(consultationId);
-        } catch (ValidationException e) {
-            consultationsForm.showErrorMessage("Validación: " + e.getMessage());
-        } catch (BusinessException e) {
-            consultationsForm.showErrorMessage("Error: " + e.getMessage());
-        } catch (IOException e) {
-            consultationsForm.showErrorMessage("Error: " + e.getMessage());
-        }
+    public CompletableFuture<Void> deleteConsultation(String consultationId) {
+        return controllerRegistry.getAsyncServices().run(
+                () -> controllerRegistry.getConsultationController().deleteConsultation(consultationId));
     }
     
     /**
@@ -107,6 +105,30 @@ public class ConsultationsPanelController {
         }
     }
     
+    /**
+     * Obtiene en segundo plano la agenda (consultas y sus pacientes) para un dia determinado.
+     * El error (ValidationException o BusinessException) se propaga en el resultado.
+     * @param consultationDate fecha de las consultas a buscar
+     * @return lista de agendas para la fecha especificada
+     */
+    public CompletableFuture<List<ConsultationAgendaDTO>> getConsultationAgendaByDate(String consultationDate) {
+        return controllerRegistry.getAsyncServices().supply(
+                () -> controllerRegistry.getConsultationController().getConsultationAgendaByDate(consultationDate));
+    }
+    
+    /**
+     * Cuenta las consultas de cada día dentro de un rango de fechas.
+     * Propaga el error para que la vista decida cómo informarlo.
+     * @param fromDate fecha inicial (yyyy-MM-dd)
+     * @param toDate fecha final (yyyy-MM-dd)
+     * @return cantidad de consultas por fecha (yyyy-MM-dd)
+     * @throws com.application.exceptions.businessException.ValidationException
+     * @throws com.application.exceptions.businessException.BusinessException
+     */
+    public Map<String, Integer> getConsultationCountsBetweenDates(String fromDate, String toDate) throws ValidationException, BusinessException {
+        return controllerRegistry.getConsultationController().getConsultationCountsBetweenDates(fromDate, toDate);
+    }
+    
     /**
      * Obtiene todos los pacientes 
      * @return lista de DTO's de los pacientes
@@ -152,6 +174,20 @@ public class ConsultationsPanelController {
         }
     } 
     
+    /**
+     * Obtiene varios pacientes por sus Ids con una única búsqueda
+     * @param patientIds Identificadores de los pacientes
+     * @return Mapa id → PatientDTO de los pacientes activos; null si ocurre un error (ya informado)
+     */
+    public Map<String, PatientDTO> getPatientsByIds(List<String> patientIds) {
+        try {
+            return controllerRegistry.getPatientController().getPatientsByIds(patientIds);
+        } catch (ValidationException | BusinessException e) {
+            consultationsForm.showErrorMessage(e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Abre las notas asociadas a la consulta
      * @param consultationId Identificador de la consulta
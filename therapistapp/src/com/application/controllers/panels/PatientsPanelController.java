@@ -11,6 +11,7 @@ import com.application.view.panels.patient.PatientsPanel;
 import java.io.IOException;
 import java.util.List;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 public class PatientsPanelController {
     
@@ -42,6 +43,30 @@ public class PatientsPanelController {
         }
     }
     
+    /**
+     * Cuenta los pacientes activos en segundo plano.
+     * El error se propaga en el resultado para que la vista lo informe en el EDT.
+     * @return cantidad de pacientes
+     */
+    public CompletableFuture<Integer> countPatients() {
+        return controllerRegistry.getAsyncServices().supply(
+                () -> controllerRegistry.getPatientController().countPatients());
+    }
+
+    /**
+     * Obtiene una página de pacientes en segundo plano.
+     * El error (ValidationException o BusinessException) se propaga en el resultado.
+     * @param afterLastName apellido del último paciente de la página anterior (null para la primera)
+     * @param afterPatientId id del último paciente de la página anterior (null para la primera)
+     * @param offset filas a saltear a partir de la clave
+     * @param limit tamaño de la página
+     * @return List PatientDTO
+     */
+    public CompletableFuture<List<PatientDTO>> getPatientsPage(String afterLastName, String afterPatientId, int offset, int limit) {
+        return controllerRegistry.getAsyncServices().supply(
+                () -> controllerRegistry.getPatientController().getPatientsPage(afterLastName, afterPatientId, offset, limit));
+    }
+    
     /**
      * Obtiene todas las ciudades en el sistema
      * @return List CityDTO
@@ -79,15 +104,14 @@ public class PatientsPanelController {
     }
     
     /**
-     * Elimina paciente existente
+     * Elimina en segundo plano un paciente existente.
+     * El error (ValidationException o BusinessException) se propaga en el resultado.
      * @param patientId del paciente a eliminar
+     * @return se completa al terminar la eliminación
      */
-    public void deletePatient(String patientId) {
-        try {
-            controllerRegistry.getPatientController().deletePatient(patientId);
-        } catch (ValidationException | BusinessException e) {
-            patientsForm.showErrorMessage(e.getMessage());
-        }
+    public CompletableFuture<Void> deletePatient(String patientId) {
+        return controllerRegistry.getAsyncServices().run(
+                () -> controllerRegistry.getPatientController().deletePatient(patientId));
     }
     
     /**
@@ -119,17 +143,14 @@ public class PatientsPanelController {
     }
     
     /**
-     * Busca pacientes en base a su apellido
+     * Busca pacientes en base a su apellido, nombre, DNI o email.
+     * Se invoca fuera del EDT, por eso propaga el error en lugar de mostrarlo.
      * @param patientData Search term
      * @return List PatientDTO 
+     * @throws com.application.exceptions.businessException.BusinessException
      */
-    public List<PatientDTO> getPatientsThatMatch(String patientData) {
-        try {
-            List<PatientDTO> result = controllerRegistry.getPatientController().getPatientsThatMatch(patientData);
-            return result != null ? result : Collections.emptyList();
-        } catch (BusinessException e) {
-            patientsForm.showErrorMessage("Error en búsqueda: " + e.getMessage());
-            return Collections.emptyList();
-        }
+    public List<PatientDTO> getPatientsThatMatch(String patientData) throws BusinessException {
+        List<PatientDTO> result = controllerRegistry.getPatientController().getPatientsThatMatch(patientData);
+        return result != null ? result : Collections.emptyList();
     }
 }
\ No newline at end of file
@@ -6,4 +6,7 @@ import java.awt.geom.Rectangle2D;
 public interface ICalendarEventCellRender<E> {
 
     public void paint(Graphics2D g2, Rectangle2D rectangle2D, boolean isSelected, E value);
+
+    public default void paintCount(Graphics2D g2, Rectangle2D rectangle2D, int count) {
+    }
 }
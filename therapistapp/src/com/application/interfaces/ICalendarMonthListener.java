@@ -0,0 +1,8 @@
+package com.application.interfaces;
+
+import com.application.view.panels.consultation.calendar.ModelMonth;
+
+public interface ICalendarMonthListener {
+
+    public void monthChanged(ModelMonth month);
+}
@@ -7,6 +7,7 @@ import com.application.model.dto.ConsultationPatientDTO;
 import com.application.model.dto.PatientDTO;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 public interface IConsultationDialog {
     
@@ -24,7 +25,7 @@ public interface IConsultationDialog {
     
     List<PatientDTO> getAllPatients();
     
-    PatientDTO getPatientById(String patientId);
+    Map<String, PatientDTO> getPatientsByIds(List<String> patientIds);
     
     void openConsultationNotesById(String consultationId);
       
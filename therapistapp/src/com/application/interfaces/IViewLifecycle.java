@@ -0,0 +1,20 @@
+package com.application.interfaces;
+
+/**
+ * Ciclo de vida de un panel que se crea una sola vez y se reutiliza al navegar por el menú
+ */
+public interface IViewLifecycle {
+    
+    /**
+     * Se invoca cada vez que el panel vuelve a mostrarse (no en la primera vez),
+     * para actualizar los datos sin reconstruir el panel
+     */
+    void onShow();
+    
+    /**
+     * Se invoca cuando el panel deja de mostrarse
+     */
+    default void onHide() {
+    }
+    
+}
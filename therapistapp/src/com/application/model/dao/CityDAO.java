@@ -1,5 +1,7 @@
 package com.application.model.dao;
 
+import com.application.model.database.UnitOfWork;
+import com.application.model.database.UuidCodec;
 import com.application.model.entities.City;
 import com.application.exceptions.runtimeExceptions.dataAccessException.ConstraintViolationException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
@@ -8,11 +10,11 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import javax.sql.DataSource;
 
 public class CityDAO {
-    private static final String URL = "jdbc:mysql://localhost:3306/therapist_db?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    private final DataSource dataSource;
+    private final UuidCodec uuidCodec;
 
     private static final String SELECT_ALL_CITY =
         "SELECT city_id, city_name, city_zip_code FROM tbl_city ORDER BY city_name";
@@ -38,6 +40,11 @@ public class CityDAO {
     private static final String UNIQUE_CITY_CONSTRAINT = "uk_city_name";
     private static final int    MYSQL_DUPLICATE_ERROR   = 1062;
 
+    public CityDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.uuidCodec = UuidCodec.getInstance();
+    }
+
     /**
      * Obtiene todas las ciudades de la base de datos
      * @return Lista de ciudades
@@ -69,7 +76,7 @@ public class CityDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_CITY)) {
 
-            ps.setString(1, city.getCityId().toString());
+            uuidCodec.bind(ps, 1, city.getCityId());
             ps.setString(2, city.getCityName());
             ps.setString(3, city.getCityZIPCode());
             ps.executeUpdate();
@@ -83,6 +90,38 @@ public class CityDAO {
         }
     }
     
+    /**
+     * Inserta varias ciudades en un único lote dentro de una unidad de trabajo;
+     * no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param cities Ciudades a insertar
+     * @throws ConstraintViolationException Si se viola una restricción única
+     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     */
+    public void insertCities(UnitOfWork unitOfWork, List<City> cities) {
+        if (cities.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = unitOfWork.getConnection().prepareStatement(INSERT_CITY)) {
+
+            for (City city : cities) {
+                uuidCodec.bind(ps, 1, city.getCityId());
+                ps.setString(2, city.getCityName());
+                ps.setString(3, city.getCityZIPCode());
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+
+        } catch (SQLException e) {
+            if (e.getErrorCode() == MYSQL_DUPLICATE_ERROR &&
+                e.getMessage().contains(UNIQUE_CITY_CONSTRAINT)) {
+                throw new ConstraintViolationException("City", "name");
+            }
+            throw new DataAccessException("Error al insertar ciudades", e);
+        }
+    }
+    
     /**
      * Modifica una ciudad existente en la base de datos
      * @param city Ciudad a modificar
@@ -95,7 +134,7 @@ public class CityDAO {
 
             ps.setString(1, city.getCityName());
             ps.setString(2, city.getCityZIPCode());
-            ps.setString(3, city.getCityId().toString());
+            uuidCodec.bind(ps, 3, city.getCityId());
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
@@ -121,7 +160,7 @@ public class CityDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_CITY)) {
 
-            ps.setString(1, cityId.toString());
+            uuidCodec.bind(ps, 1, cityId);
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new EntityNotFoundException("City", cityId.toString());
@@ -143,7 +182,7 @@ public class CityDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_CITY_BY_ID)) {
 
-            ps.setString(1, cityId.toString());
+            uuidCodec.bind(ps, 1, cityId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
                     return mapResultSetToCity(rs);
@@ -168,7 +207,7 @@ public class CityDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_CITY_NAME_BY_ID)) {
 
-            ps.setString(1, cityId.toString());
+            uuidCodec.bind(ps, 1, cityId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
                     return rs.getString("city_name");
@@ -207,18 +246,18 @@ public class CityDAO {
      */
     private City mapResultSetToCity(ResultSet rs) throws SQLException {
         return new City(
-            UUID.fromString(rs.getString("city_id")),
+            uuidCodec.read(rs, "city_id"),
             rs.getString("city_name"),
             rs.getString("city_zip_code")
         );
     }
 
     /**
-     * Obtiene una conexión a la base de datos
+     * Obtiene una conexión del pool compartido
      */
     private Connection getConnection() {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return dataSource.getConnection();
         } catch (SQLException e) {
             throw new DataAccessException("Error al conectar con la base de datos", e);
         }
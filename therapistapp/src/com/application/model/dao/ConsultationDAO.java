@@ -3,20 +3,25 @@ package com.application.model.dao;
 import com.application.exceptions.runtimeExceptions.dataAccessException.ConstraintViolationException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
+import com.application.model.database.UnitOfWork;
+import com.application.model.database.UuidCodec;
 import com.application.model.entities.Consultation;
+import com.application.model.entities.ConsultationAgenda;
 import com.application.model.enumerations.ConsultationStatus;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import javax.sql.DataSource;
 
 public class ConsultationDAO {
-    private static final String URL = "jdbc:mysql://localhost:3306/therapist_db?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    private final DataSource dataSource;
+    private final UuidCodec uuidCodec;
     
     private static final String INSERT_SQL =
         "INSERT INTO tbl_consultation ( " +
@@ -50,16 +55,37 @@ public class ConsultationDAO {
         "SELECT * FROM tbl_consultation " +
         "WHERE consultation_date = ? and is_active = true ORDER BY consultation_start_time";
 
-    private static final String CHECK_START_DATETIME_INSERT_CONSULTATION =
-        "SELECT COUNT(*) FROM tbl_consultation " +
-        "WHERE consultation_date = ? AND consultation_start_time = ?";
-    
-    private static final String CHECK_START_DATETIME_UPDATE_CONSULTATION =
-        "SELECT COUNT(*) FROM tbl_consultation " +
-        "WHERE consultation_date = ? AND consultation_start_time = ? AND consultation_id <> ? AND is_active = true";
+    private static final String SELECT_AGENDA_BY_DATE =
+        "SELECT c.*, p.* FROM tbl_consultation c " +
+        "JOIN tbl_consultation_patient cp ON cp.consultation_id = c.consultation_id AND cp.is_active = true " +
+        "JOIN tbl_patient p ON p.patient_id = cp.patient_id AND p.is_active = true " +
+        "WHERE c.consultation_date = ? AND c.is_active = true " +
+        "ORDER BY c.consultation_start_time, c.consultation_id, p.patient_last_name";
+
+    private static final String SELECT_CONSULTATIONS_BETWEEN_DATES =
+        "SELECT * FROM tbl_consultation " +
+        "WHERE consultation_date BETWEEN ? AND ? AND is_active = true " +
+        "ORDER BY consultation_date, consultation_start_time";
+
+    private static final String COUNT_CONSULTATIONS_BY_DATE_BETWEEN_DATES =
+        "SELECT consultation_date, COUNT(*) AS consultation_count FROM tbl_consultation " +
+        "WHERE consultation_date BETWEEN ? AND ? AND is_active = true " +
+        "GROUP BY consultation_date";
+
+    // Dos consultas se superponen si cada una empieza antes de que termine la otra
+    private static final String CHECK_OVERLAPPING_CONSULTATION =
+        "SELECT consultation_id FROM tbl_consultation " +
+        "WHERE consultation_date = ? AND is_active = true " +
+        "AND consultation_start_time < ? AND ? < consultation_end_time " +
+        "AND consultation_id <> ? LIMIT 1 FOR UPDATE";
     
     private static final String UNIQUE_CONSULTATION_TIME_CONSTRAINT = "uk_consultation_time";
 
+    public ConsultationDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.uuidCodec = UuidCodec.getInstance();
+    }
+
     /**
      * Inserta una nueva consulta en la base de datos
      * @param consultation Consulta a insertar
@@ -67,25 +93,76 @@ public class ConsultationDAO {
      * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
      */
     public void insertConsultation(Consultation consultation) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+        try (Connection conn = getConnection()) {
+            executeInsertConsultation(conn, consultation);
+        } catch (SQLException e) {
+            throw translateInsertException(e);
+        }
+    }
 
-            ps.setString(1, consultation.getConsultationId().toString());
-            ps.setObject(2, consultation.getConsultationDate());
-            ps.setObject(3, consultation.getConsultationStartTime());
-            ps.setObject(4, consultation.getConsultationEndTime());
-            ps.setDouble(5, consultation.getConsultationAmount());
-            ps.setString(6, consultation.getConsultationStatus().toString());
+    /**
+     * Inserta una nueva consulta dentro de una unidad de trabajo; no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param consultation Consulta a insertar
+     * @throws ConstraintViolationException Si se viola la clave única de tiempo
+     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     */
+    public void insertConsultation(UnitOfWork unitOfWork, Consultation consultation) {
+        try {
+            executeInsertConsultation(unitOfWork.getConnection(), consultation);
+        } catch (SQLException e) {
+            throw translateInsertException(e);
+        }
+    }
 
-            ps.executeUpdate();
+    /**
+     * Inserta varias consultas en un único lote dentro de una unidad de trabajo;
+     * no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param consultations Consultas a insertar
+     * @throws ConstraintViolationException Si se viola la clave única de tiempo
+     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     */
+    public void insertConsultations(UnitOfWork unitOfWork, List<Consultation> consultations) {
+        if (consultations.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = unitOfWork.getConnection().prepareStatement(INSERT_SQL)) {
 
-        } catch (SQLException e) {
-            if (e.getMessage().contains("Duplicate entry") && e.getMessage().contains(UNIQUE_CONSULTATION_TIME_CONSTRAINT)) {
-                throw new ConstraintViolationException("Consultation", "start datetime");
+            for (Consultation consultation : consultations) {
+                setInsertParameters(ps, consultation);
+                ps.addBatch();
             }
-            throw new DataAccessException("Error al insertar consulta", e);
+
+            ps.executeBatch();
+
+        } catch (SQLException e) {
+            throw translateInsertException(e);
+        }
+    }
+
+    private void executeInsertConsultation(Connection conn, Consultation consultation) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            setInsertParameters(ps, consultation);
+            ps.executeUpdate();
         }
     }
+
+    private void setInsertParameters(PreparedStatement ps, Consultation consultation) throws SQLException {
+        uuidCodec.bind(ps, 1, consultation.getConsultationId());
+        ps.setObject(2, consultation.getConsultationDate());
+        ps.setObject(3, consultation.getConsultationStartTime());
+        ps.setObject(4, consultation.getConsultationEndTime());
+        ps.setDouble(5, consultation.getConsultationAmount());
+        ps.setString(6, consultation.getConsultationStatus().toString());
+    }
+
+    private RuntimeException translateInsertException(SQLException e) {
+        if (e.getMessage().contains("Duplicate entry") && e.getMessage().contains(UNIQUE_CONSULTATION_TIME_CONSTRAINT)) {
+            return new ConstraintViolationException("Consultation", "start datetime");
+        }
+        return new DataAccessException("Error al insertar consulta", e);
+    }
     
     /**
      * Modifica una consulta existente en la base de datos
@@ -95,28 +172,51 @@ public class ConsultationDAO {
      * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
      */
     public void updateConsultation(Consultation consultation) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
+        try (Connection conn = getConnection()) {
+            executeUpdateConsultation(conn, consultation);
+        } catch (SQLException e) {
+            throw translateUpdateException(e);
+        }
+    }
 
+    /**
+     * Modifica una consulta existente dentro de una unidad de trabajo; no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param consultation Consulta a modificar
+     * @throws EntityNotFoundException Si no se encuentra la consulta
+     * @throws ConstraintViolationException Si se viola la clave única de tiempo
+     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     */
+    public void updateConsultation(UnitOfWork unitOfWork, Consultation consultation) {
+        try {
+            executeUpdateConsultation(unitOfWork.getConnection(), consultation);
+        } catch (SQLException e) {
+            throw translateUpdateException(e);
+        }
+    }
+
+    private void executeUpdateConsultation(Connection conn, Consultation consultation) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
             ps.setObject(1, consultation.getConsultationDate());
             ps.setObject(2, consultation.getConsultationStartTime());
             ps.setObject(3, consultation.getConsultationEndTime());
             ps.setDouble(4, consultation.getConsultationAmount());
             ps.setString(5, consultation.getConsultationStatus().toString());
             
-            ps.setString(6, consultation.getConsultationId().toString());
+            uuidCodec.bind(ps, 6, consultation.getConsultationId());
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new EntityNotFoundException("consultation", consultation.getConsultationId().toString());
             }
+        }
+    }
 
-        } catch (SQLException e) {
-             if (e.getMessage().contains("Duplicate entry") && e.getMessage().contains(UNIQUE_CONSULTATION_TIME_CONSTRAINT)) {
-                throw new ConstraintViolationException("Consultation", "start datetime");
-            }
-            throw new DataAccessException("Error al actualizar consulta", e);
+    private RuntimeException translateUpdateException(SQLException e) {
+        if (e.getMessage().contains("Duplicate entry") && e.getMessage().contains(UNIQUE_CONSULTATION_TIME_CONSTRAINT)) {
+            return new ConstraintViolationException("Consultation", "start datetime");
         }
+        return new DataAccessException("Error al actualizar consulta", e);
     }
     
     /**
@@ -129,7 +229,7 @@ public class ConsultationDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
 
-            ps.setString(1, consultationId.toString());
+            uuidCodec.bind(ps, 1, consultationId);
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new EntityNotFoundException("consultation", consultationId.toString());
@@ -150,7 +250,7 @@ public class ConsultationDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_CONSULTATION_BY_ID)) {
             
-            ps.setString(1, consultationId.toString());
+            uuidCodec.bind(ps, 1, consultationId);
             
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -194,56 +294,125 @@ public class ConsultationDAO {
     }
      
     /**
-     * Verifica si existe una consulta con la fecha/hora de inicio indicada
-     * @param consultationDate Fecha de la consulta
-     * @param consultationStartTime horario de inicio de la consulta
-     * @return true si ya existe, false en caso contrario
+     * Obtiene la agenda de un día (consultas con sus pacientes) en una única consulta SQL
+     * @param consultationDate Fecha de las consultas a buscar
+     * @return Lista de consultas con sus pacientes activos, ordenada por horario de inicio
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
+     */
+    public List<ConsultationAgenda> getConsultationAgendaByDate(Date consultationDate) {
+        Map<UUID, ConsultationAgenda> agenda = new LinkedHashMap<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_AGENDA_BY_DATE)) {
+            
+            ps.setDate(1, consultationDate);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    UUID consultationId = uuidCodec.read(rs, "consultation_id");
+                    ConsultationAgenda consultationAgenda = agenda.get(consultationId);
+                    if (consultationAgenda == null) {
+                        consultationAgenda = new ConsultationAgenda(mapResultSetToConsultation(rs));
+                        agenda.put(consultationId, consultationAgenda);
+                    }
+                    consultationAgenda.addPatient(PatientDAO.mapResultSetToPatient(rs, uuidCodec));
+                }
+            }
+            
+            return new ArrayList<>(agenda.values());
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al obtener la agenda por fecha", e);
+        }
+    }
+     
+    /**
+     * Obtiene las consultas activas entre dos fechas (inclusive) en una única consulta SQL
+     * @param fromDate Fecha inicial
+     * @param toDate Fecha final
+     * @return Lista de consultas ordenada por fecha y horario de inicio
      * @throws DataAccessException Si ocurre un error al acceder a la base de datos
      */
-    public boolean isConsultationStartDatetimeExists(
-            LocalDate consultationDate, 
-            LocalTime consultationStartTime) {
+    public List<Consultation> getConsultationsBetweenDates(LocalDate fromDate, LocalDate toDate) {
+        List<Consultation> consultations = new ArrayList<>();
+
         try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(CHECK_START_DATETIME_INSERT_CONSULTATION)) {
+             PreparedStatement ps = conn.prepareStatement(SELECT_CONSULTATIONS_BETWEEN_DATES)) {
 
-            ps.setDate(1, Date.valueOf(consultationDate));       
-            ps.setTime(2, Time.valueOf(consultationStartTime));    
+            ps.setDate(1, Date.valueOf(fromDate));
+            ps.setDate(2, Date.valueOf(toDate));
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() && rs.getInt(1) > 0;
+                while (rs.next()) {
+                    consultations.add(mapResultSetToConsultation(rs));
+                }
             }
+            return consultations;
 
         } catch (SQLException e) {
-            String message = String.format("Error al verificar existencia de consulta en %s %s", consultationDate, consultationStartTime);
-            throw new DataAccessException(message, e);
+            throw new DataAccessException("Error al obtener consultas por rango de fechas", e);
         }
     }
-    
+
+    /**
+     * Cuenta las consultas activas de cada día entre dos fechas (inclusive) en una única consulta SQL
+     * @param fromDate Fecha inicial
+     * @param toDate Fecha final
+     * @return Cantidad de consultas por fecha; los días sin consultas no se incluyen
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
+     */
+    public Map<LocalDate, Integer> getConsultationCountsBetweenDates(LocalDate fromDate, LocalDate toDate) {
+        Map<LocalDate, Integer> counts = new LinkedHashMap<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(COUNT_CONSULTATIONS_BY_DATE_BETWEEN_DATES)) {
+
+            ps.setDate(1, Date.valueOf(fromDate));
+            ps.setDate(2, Date.valueOf(toDate));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getDate("consultation_date").toLocalDate(), rs.getInt("consultation_count"));
+                }
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al contar consultas por rango de fechas", e);
+        }
+    }
+
     /**
-     * Verifica si existe una consulta con la fecha/hora de inicio indicada y que no sea el IDentificador de la consulta
+     * Verifica, dentro de una unidad de trabajo, si otra consulta activa del mismo día se
+     * superpone con el horario indicado. Bloquea las filas leídas hasta el fin de la
+     * transacción, de modo que dos puestos no puedan reservar el mismo horario a la vez.
+     * @param unitOfWork Unidad de trabajo en curso
      * @param consultationDate Fecha de la consulta
      * @param consultationStartTime horario de inicio de la consulta
-     * @param consultationId Identificador de la consulta
-     * @return true si ya existe, false en caso contrario
+     * @param consultationEndTime horario de fin de la consulta
+     * @param consultationId Identificador de la consulta a excluir (la propia consulta)
+     * @return true si existe superposición
      * @throws DataAccessException Si ocurre un error al acceder a la base de datos
      */
-    public boolean isConsultationStartDatetimeExists(
-            LocalDate consultationDate, 
+    public boolean isOverlappingConsultationExists(
+            UnitOfWork unitOfWork,
+            LocalDate consultationDate,
             LocalTime consultationStartTime,
+            LocalTime consultationEndTime,
             UUID consultationId) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(CHECK_START_DATETIME_UPDATE_CONSULTATION)) {
+        try (PreparedStatement ps = unitOfWork.getConnection().prepareStatement(CHECK_OVERLAPPING_CONSULTATION)) {
 
-            ps.setDate(1, Date.valueOf(consultationDate));       
-            ps.setTime(2, Time.valueOf(consultationStartTime));    
-            ps.setString(3, consultationId.toString());
+            ps.setDate(1, Date.valueOf(consultationDate));
+            ps.setTime(2, Time.valueOf(consultationEndTime));
+            ps.setTime(3, Time.valueOf(consultationStartTime));
+            uuidCodec.bind(ps, 4, consultationId);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() && rs.getInt(1) > 0;
+                return rs.next();
             }
 
         } catch (SQLException e) {
-            String message = String.format("Error al verificar existencia de consulta en %s %s", consultationDate, consultationStartTime);
+            String message = String.format("Error al verificar superposición de consulta en %s %s", consultationDate, consultationStartTime);
             throw new DataAccessException(message, e);
         }
     }
@@ -253,7 +422,7 @@ public class ConsultationDAO {
      */
     private Consultation mapResultSetToConsultation(ResultSet rs) throws SQLException {
         return new Consultation(
-            UUID.fromString(rs.getString("consultation_id")),
+            uuidCodec.read(rs, "consultation_id"),
             rs.getDate("consultation_date").toLocalDate(),
             rs.getTime("consultation_start_time").toLocalTime(),    
             rs.getTime("consultation_end_time").toLocalTime(),
@@ -263,11 +432,11 @@ public class ConsultationDAO {
     }
     
     /**
-     * Obtiene una conexión a la base de datos
+     * Obtiene una conexión del pool compartido
      */
     private Connection getConnection() {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return dataSource.getConnection();
         } catch (SQLException e) {
             throw new DataAccessException("Error al conectar con la base de datos", e);
         }
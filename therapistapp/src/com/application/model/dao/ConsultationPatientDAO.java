@@ -3,18 +3,20 @@ package com.application.model.dao;
 import com.application.exceptions.runtimeExceptions.dataAccessException.ConstraintViolationException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
+import com.application.model.database.UnitOfWork;
+import com.application.model.database.UuidCodec;
 import com.application.model.entities.ConsultationPatient;
-import com.application.model.entities.Patient;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import javax.sql.DataSource;
 
 public class ConsultationPatientDAO {
-    private static final String URL = "jdbc:mysql://localhost:3306/therapist_db?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    private final DataSource dataSource;
+    private final UuidCodec uuidCodec;
     
     private static final String INSERT_SQL =
         "INSERT INTO tbl_consultation_patient ( " +
@@ -23,19 +25,18 @@ public class ConsultationPatientDAO {
         "is_paid " +
         ") VALUES (?, ?, ?)";
     
-    private static final String DELETE_SQL =
+    private static final String UPSERT_SQL =
+        "INSERT INTO tbl_consultation_patient ( " +
+        "consultation_id, " +
+        "patient_id, " +
+        "is_paid " +
+        ") VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE is_active = true, is_paid = ?";
+
+    private static final String DEACTIVATE_ALL_EXCEPT_PREFIX =
         "UPDATE tbl_consultation_patient SET " +
         "is_active = false " +
-        "WHERE consultation_id = ? and patient_id = ?";
-    
-    private static final String UPDATE_PATIENT_IS_ACTIVE = 
-        "UPDATE tbl_consultation_patient SET " +
-        "is_active = true, is_paid = ? " +
-        "WHERE consultation_id = ? AND patient_id = ?";
-    
-    private static final String SELECT_PATIENT_IS_ACTIVE = 
-        "SELECT COUNT(*) FROM tbl_consultation_patient " +
-        "WHERE consultation_id = ? AND patient_id = ? AND is_active = false";
+        "WHERE consultation_id = ? AND is_active = true";
     
     private static final String DELETE_ALL_PATIENTS_BY_CONSULTATION_ID =
         "UPDATE tbl_consultation_patient SET " +
@@ -47,11 +48,6 @@ public class ConsultationPatientDAO {
         "is_active = false " +
         "WHERE patient_id = ?";    
     
-    private static final String UPDATE_PATIENT_IS_PAID =
-        "UPDATE tbl_consultation_patient SET " +
-        "is_paid = true " +
-        "WHERE consultation_id = ? and patient_id = ?";
-
     private static final String SELECT_PATIENTS_BY_CONSULTATION_ID =
         "SELECT * FROM tbl_patient p " +
         "JOIN tbl_consultation_patient cp ON p.patient_id = cp.patient_id " +
@@ -63,100 +59,84 @@ public class ConsultationPatientDAO {
         
     private static final String UNIQUE_CONSULTATION_PATIENT_CONSTRAINT = "uk_consultation_time";
 
+    public ConsultationPatientDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.uuidCodec = UuidCodec.getInstance();
+    }
+
     /**
-     * Inserta un nuevo paciente a una consulta existente en la base de datos
-     * @param consultationPatient Paciente a insertar
+     * Inserta los pacientes de una consulta en un único lote dentro de una unidad de trabajo;
+     * no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param consultationPatients Pacientes a insertar
      * @throws ConstraintViolationException Si se viola una restricción única
      * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
      */
-    public void insertConsultationPatient(ConsultationPatient consultationPatient) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+    public void insertConsultationPatients(UnitOfWork unitOfWork, List<ConsultationPatient> consultationPatients) {
+        if (consultationPatients.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = unitOfWork.getConnection().prepareStatement(INSERT_SQL)) {
 
-            ps.setString(1, consultationPatient.getConsultationId().toString());
-            ps.setString(2, consultationPatient.getPatientId().toString());
-            ps.setBoolean(3, consultationPatient.getIsPaid());
+            for (ConsultationPatient consultationPatient : consultationPatients) {
+                uuidCodec.bind(ps, 1, consultationPatient.getConsultationId());
+                uuidCodec.bind(ps, 2, consultationPatient.getPatientId());
+                ps.setBoolean(3, consultationPatient.getIsPaid());
+                ps.addBatch();
+            }
 
-            ps.executeUpdate();
+            ps.executeBatch();
 
         } catch (SQLException e) {
             if (e.getMessage().contains("Duplicate entry") && e.getMessage().contains(UNIQUE_CONSULTATION_PATIENT_CONSTRAINT)) {
                 throw new ConstraintViolationException("Consultation", "start datetime");
             }
-            throw new DataAccessException("Error al insertar consulta", e);
-        }
-    }
-    
-    /**
-     * Elimina (logicamente) un paciente de una consulta existente en la base de datos
-     * @param consultationId de la consulta a eliminar
-     * @param patientId del paciente
-     * @throws EntityNotFoundException Si no se encuentra la consulta
-     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
-     */
-    public void deleteConsultationPatient(UUID consultationId, UUID patientId) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
-
-            ps.setString(1, consultationId.toString());
-            ps.setString(2, patientId.toString());
-
-            int rows = ps.executeUpdate();
-            if (rows == 0) {
-                throw new EntityNotFoundException("consultation", consultationId.toString());
-            }
-
-        } catch (SQLException e) {
-            throw new DataAccessException("Error al eliminar consulta", e);
-        }
-    }
-    
-    /**
-     * Modifica el estado (is_active = true) del paciente en la base de datos
-     * @param consultationId Identificador de la consulta
-     * @param patientId Identificador del paciente
-     * @param isPaid Booleano del estado del pago
-     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
-     */
-    public void reactivateConsultationPatient(UUID consultationId, UUID patientId, boolean isPaid) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(UPDATE_PATIENT_IS_ACTIVE)) {
-
-            ps.setBoolean(1, isPaid);
-            ps.setString(2, consultationId.toString());
-            ps.setString(3, patientId.toString());
-
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new DataAccessException("Error al reactivar paciente en consulta", e);
+            throw new DataAccessException("Error al insertar pacientes de la consulta", e);
         }
     }
     
     /**
-     * Verifica el estado del paciente en la base de datos
+     * Sincroniza los pacientes de una consulta con la lista recibida dentro de una
+     * unidad de trabajo: inserta o reactiva (actualizando el pago) todos los pacientes
+     * de la lista en un único lote y da de baja lógica, con una sola sentencia, a los
+     * que ya no están en ella. No confirma la transacción.
+     * @param unitOfWork Unidad de trabajo en curso
      * @param consultationId Identificador de la consulta
-     * @param patientId Identificador del paciente
-     * @return Boolean del estado del paciente
-     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     * @param consultationPatients Pacientes que deben quedar activos en la consulta
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
      */
-    public boolean existsInactiveConsultationPatient(UUID consultationId, UUID patientId) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(SELECT_PATIENT_IS_ACTIVE)) {
-
-            ps.setString(1, consultationId.toString());
-            ps.setString(2, patientId.toString());
-
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+    public void syncConsultationPatients(UnitOfWork unitOfWork, UUID consultationId, List<ConsultationPatient> consultationPatients) {
+        Connection conn = unitOfWork.getConnection();
+        try {
+            if (!consultationPatients.isEmpty()) {
+                try (PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+                    for (ConsultationPatient consultationPatient : consultationPatients) {
+                        uuidCodec.bind(ps, 1, consultationId);
+                        uuidCodec.bind(ps, 2, consultationPatient.getPatientId());
+                        ps.setBoolean(3, consultationPatient.getIsPaid());
+                        ps.setBoolean(4, consultationPatient.getIsPaid());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
                 }
             }
 
-            return false;
-
+            StringBuilder sql = new StringBuilder(DEACTIVATE_ALL_EXCEPT_PREFIX);
+            if (!consultationPatients.isEmpty()) {
+                sql.append(" AND patient_id NOT IN (")
+                   .append(String.join(", ", Collections.nCopies(consultationPatients.size(), "?")))
+                   .append(")");
+            }
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                uuidCodec.bind(ps, index++, consultationId);
+                for (ConsultationPatient consultationPatient : consultationPatients) {
+                    uuidCodec.bind(ps, index++, consultationPatient.getPatientId());
+                }
+                ps.executeUpdate();
+            }
         } catch (SQLException e) {
-            throw new DataAccessException("Error al verificar paciente inactivo en consulta", e);
+            throw new DataAccessException("Error al actualizar pacientes de la consulta", e);
         }
     }
     
@@ -170,7 +150,7 @@ public class ConsultationPatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_ALL_PATIENTS_BY_CONSULTATION_ID)) {
 
-            ps.setString(1, consultationId.toString());
+            uuidCodec.bind(ps, 1, consultationId);
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
@@ -192,7 +172,7 @@ public class ConsultationPatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_ALL_CONSULTATION_BY_PATIENT_ID)) {
 
-            ps.setString(1, patientId.toString());
+            uuidCodec.bind(ps, 1, patientId);
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
@@ -204,30 +184,6 @@ public class ConsultationPatientDAO {
         }
     }
     
-    /**
-     * Se modifica el estado del pago de la consulta existente en la base de datos
-     * @param consultationId de la consulta
-     * @param patientId del paciente
-     * @throws EntityNotFoundException Si no se encuentra la consulta
-     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
-     */
-    public void setConsultationPatientIsPaid(UUID consultationId, UUID patientId) {
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(UPDATE_PATIENT_IS_PAID)) {
-
-            ps.setString(1, consultationId.toString());
-            ps.setString(2, patientId.toString());
-
-            int rows = ps.executeUpdate();
-            if (rows == 0) {
-                throw new EntityNotFoundException("consultation", consultationId.toString());
-            }
-
-        } catch (SQLException e) {
-            throw new DataAccessException("Error al eliminar consulta", e);
-        }
-    }
-    
     /**
      * Obtiene todos los pacientes de una consulta determinada
      * @param consultationId Id de la consulta a buscar
@@ -238,7 +194,7 @@ public class ConsultationPatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_PATIENTS_BY_CONSULTATION_ID)) {
 
-            ps.setString(1, consultationId.toString());
+            uuidCodec.bind(ps, 1, consultationId);
             try (ResultSet rs = ps.executeQuery()) {
                 List<ConsultationPatient> consultationPatients = new ArrayList<>();
                 while (rs.next()) {
@@ -261,11 +217,11 @@ public class ConsultationPatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_PATIENTS_ID_BY_CONSULTATION_ID)) {
 
-            ps.setString(1, consultationId.toString());
+            uuidCodec.bind(ps, 1, consultationId);
             try (ResultSet rs = ps.executeQuery()) {
                 List<UUID> patientsUUID = new ArrayList<>();
                 while (rs.next()) {
-                    patientsUUID.add(UUID.fromString(rs.getString("patient_id")));
+                    patientsUUID.add(uuidCodec.read(rs, "patient_id"));
                 }
                 return patientsUUID;
             }
@@ -279,40 +235,18 @@ public class ConsultationPatientDAO {
      */
     private ConsultationPatient mapResultSetToConsultationPatient(ResultSet rs) throws SQLException {
         return new ConsultationPatient(
-            UUID.fromString(rs.getString("consultation_id")),
-            UUID.fromString(rs.getString("patient_id")),
+            uuidCodec.read(rs, "consultation_id"),
+            uuidCodec.read(rs, "patient_id"),
             rs.getBoolean("is_paid")
         );
     }
 
     /**
-     * Mapea un ResultSet en un Patient
-     * @param ResultSet del paciente
-     */
-    private Patient mapResultSetToPatient(ResultSet rs) throws SQLException {
-        return new Patient(
-            UUID.fromString(rs.getString("patient_id")),
-            rs.getString("patient_dni"),
-            rs.getString("patient_name"),
-            rs.getString("patient_last_name"),
-            rs.getDate("patient_birth_date").toLocalDate(),
-            rs.getString("patient_occupation"),
-            rs.getString("patient_phone"),
-            rs.getString("patient_email"),
-            UUID.fromString(rs.getString("city_id")),
-            rs.getString("patient_address"),
-            rs.getInt("patient_address_number"),
-            rs.getInt("patient_address_floor"),
-            rs.getString("patient_address_department")
-        );
-    }
-    
-    /**
-     * Obtiene una conexión a la base de datos
+     * Obtiene una conexión del pool compartido
      */
     private Connection getConnection() {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return dataSource.getConnection();
         } catch (SQLException e) {
             throw new DataAccessException("Error al conectar con la base de datos", e);
         }
@@ -2,33 +2,60 @@ package com.application.model.dao;
 
 import java.sql.Connection;
 import java.sql.Date;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import javax.sql.DataSource;
 
 import com.application.exceptions.runtimeExceptions.dataAccessException.ConstraintViolationException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
+import com.application.model.database.UnitOfWork;
+import com.application.model.database.UuidCodec;
 import com.application.model.entities.Patient;
 
 public class PatientDAO {
-    private static final String URL = "jdbc:mysql://localhost:3306/therapist_db?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    private final DataSource dataSource;
+    private final UuidCodec uuidCodec;
     
     private static final String SELECT_ALL =
         "SELECT * FROM tbl_patient " +
         "WHERE is_active = true ORDER BY patient_last_name";
 
+    private static final String COUNT_ACTIVE =
+        "SELECT COUNT(*) FROM tbl_patient WHERE is_active = true";
+
+    private static final String SELECT_PAGE_FIRST =
+        "SELECT * FROM tbl_patient " +
+        "WHERE is_active = true " +
+        "ORDER BY patient_last_name, patient_id LIMIT ? OFFSET ?";
+
+    private static final String SELECT_PAGE_AFTER =
+        "SELECT * FROM tbl_patient " +
+        "WHERE is_active = true " +
+        "AND (patient_last_name > ? OR (patient_last_name = ? AND patient_id > ?)) " +
+        "ORDER BY patient_last_name, patient_id LIMIT ? OFFSET ?";
+
     private static final String SELECT_BY_ID =
         "SELECT * FROM tbl_patient " +
         "WHERE patient_id = ? AND is_active = true";
 
+    private static final String SELECT_BY_IDS_PREFIX =
+        "SELECT * FROM tbl_patient " +
+        "WHERE is_active = true AND patient_id IN (";
+
+    // Cantidad máxima de ids por consulta IN (...)
+    private static final int IDS_CHUNK_SIZE = 500;
+
     private static final String SELECT_BY_DNI =
         "SELECT * FROM tbl_patient " +
         "WHERE patient_dni = ? AND is_active = true";
@@ -83,6 +110,11 @@ public class PatientDAO {
     private static final String UNIQUE_DNI_CONSTRAINT   = "uk_patient_dni";
     private static final String UNIQUE_EMAIL_CONSTRAINT = "uk_patient_email";
 
+    public PatientDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.uuidCodec = UuidCodec.getInstance();
+    }
+
     /**
      * Obtiene todos los pacientes de la base de datos
      * @return Lista de pacientes
@@ -95,7 +127,7 @@ public class PatientDAO {
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                list.add(mapResultSetToPatient(rs));
+                list.add(mapResultSetToPatient(rs, uuidCodec));
             }
             return list;
         } catch (SQLException e) {
@@ -103,6 +135,59 @@ public class PatientDAO {
         }
     }
     
+    /**
+     * Cuenta los pacientes activos
+     * @return cantidad de pacientes activos
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
+     */
+    public int countPatients() {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(COUNT_ACTIVE);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al contar pacientes", e);
+        }
+    }
+
+    /**
+     * Obtiene una página de pacientes ordenada por (apellido, id) usando paginación
+     * por clave: la página comienza después del paciente indicado, sin recorrer
+     * las filas anteriores. El offset solo se usa para saltar páginas completas
+     * cuando no se conoce la clave de la página inmediatamente anterior.
+     * @param afterLastName apellido del último paciente conocido, o null para empezar desde el inicio
+     * @param afterPatientId id del último paciente conocido, o null para empezar desde el inicio
+     * @param offset filas a saltear a partir de la clave
+     * @param limit tamaño de la página
+     * @return Lista de pacientes de la página
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
+     */
+    public List<Patient> getPatientsPage(String afterLastName, UUID afterPatientId, int offset, int limit) {
+        boolean first = afterLastName == null || afterPatientId == null;
+        List<Patient> list = new ArrayList<>(limit);
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(first ? SELECT_PAGE_FIRST : SELECT_PAGE_AFTER)) {
+
+            int index = 1;
+            if (!first) {
+                ps.setString(index++, afterLastName);
+                ps.setString(index++, afterLastName);
+                uuidCodec.bind(ps, index++, afterPatientId);
+            }
+            ps.setInt(index++, limit);
+            ps.setInt(index, offset);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapResultSetToPatient(rs, uuidCodec));
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar página de pacientes", e);
+        }
+    }
+    
     /**
      * Inserta un nuevo paciente en la base de datos
      * @param patient Paciente a insertar
@@ -113,35 +198,39 @@ public class PatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
 
-            ps.setString(1, patient.getPatientId().toString());
-            ps.setString(2, patient.getPatientDNI());
-            ps.setString(3, patient.getPatientName());
-            ps.setString(4, patient.getPatientLastName());
-            ps.setDate(5, Date.valueOf(patient.getPatientBirthDate()));
-            ps.setString(6, patient.getPatientOccupation());
-            ps.setString(7, patient.getPatientPhone());
-            ps.setString(8, patient.getPatientEmail());
-            ps.setString(9, patient.getCityId().toString());
-            ps.setString(10, patient.getPatientAddress());
-            ps.setInt(11, patient.getPatientAddressNumber());
+            setInsertParameters(ps, patient);
+            ps.executeUpdate();
 
-            if (patient.getPatientAddressFloor() >= 0) {
-                ps.setInt(12, patient.getPatientAddressFloor());
-            } else {
-                ps.setNull(12, Types.INTEGER);
-            }
+        } catch (SQLException e) {
+            handleConstraintViolation(e, "Patient");
+            throw new DataAccessException("Error al insertar paciente", e);
+        }
+    }
+    
+    /**
+     * Inserta varios pacientes en un único lote dentro de una unidad de trabajo;
+     * no confirma la transacción
+     * @param unitOfWork Unidad de trabajo en curso
+     * @param patients Pacientes a insertar
+     * @throws ConstraintViolationException Si se viola una restricción única
+     * @throws DataAccessException Si ocurre otro error al acceder a la base de datos
+     */
+    public void insertPatients(UnitOfWork unitOfWork, List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = unitOfWork.getConnection().prepareStatement(INSERT_SQL)) {
 
-            if (patient.getPatientAddressDepartment() != null) {
-                ps.setString(13, patient.getPatientAddressDepartment());
-            } else {
-                ps.setNull(13, Types.VARCHAR);
+            for (Patient patient : patients) {
+                setInsertParameters(ps, patient);
+                ps.addBatch();
             }
-            
-            ps.executeUpdate();
+
+            ps.executeBatch();
 
         } catch (SQLException e) {
             handleConstraintViolation(e, "Patient");
-            throw new DataAccessException("Error al insertar paciente", e);
+            throw new DataAccessException("Error al insertar pacientes", e);
         }
     }
     
@@ -162,7 +251,7 @@ public class PatientDAO {
             ps.setString(5, patient.getPatientOccupation());
             ps.setString(6, patient.getPatientPhone());
             ps.setString(7, patient.getPatientEmail());
-            ps.setString(8, patient.getCityId().toString());
+            uuidCodec.bind(ps, 8, patient.getCityId());
             ps.setString(9, patient.getPatientAddress());
             ps.setInt(10, patient.getPatientAddressNumber());
 
@@ -177,7 +266,7 @@ public class PatientDAO {
             } else {
                 ps.setNull(12, Types.VARCHAR);
             }
-            ps.setString(13, patient.getPatientId().toString());
+            uuidCodec.bind(ps, 13, patient.getPatientId());
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
@@ -200,7 +289,7 @@ public class PatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
 
-            ps.setString(1, patientId.toString());
+            uuidCodec.bind(ps, 1, patientId);
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new EntityNotFoundException("Patient", patientId.toString());
@@ -222,10 +311,10 @@ public class PatientDAO {
         try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_BY_ID)) {
 
-            ps.setString(1, patientId.toString());
+            uuidCodec.bind(ps, 1, patientId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToPatient(rs);
+                    return mapResultSetToPatient(rs, uuidCodec);
                 } else {
                     throw new EntityNotFoundException("Patient", patientId.toString());
                 }
@@ -234,6 +323,43 @@ public class PatientDAO {
             throw new DataAccessException("Error al buscar paciente por ID", e);
         }
     }
+
+
+    /**
+     * Busca varios pacientes activos por sus IDs con una consulta IN (...) por cada
+     * bloque de hasta 500 ids, en lugar de una consulta por paciente
+     * @param patientIds ids de los pacientes a buscar
+     * @return Mapa id → paciente; los ids inexistentes o inactivos no se incluyen
+     * @throws DataAccessException Si ocurre un error al acceder a la base de datos
+     */
+    public Map<UUID, Patient> getPatientsByIds(Collection<UUID> patientIds) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(patientIds));
+        Map<UUID, Patient> patients = new HashMap<>();
+        if (ids.isEmpty()) {
+            return patients;
+        }
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < ids.size(); from += IDS_CHUNK_SIZE) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + IDS_CHUNK_SIZE, ids.size()));
+                String sql = SELECT_BY_IDS_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (UUID patientId : chunk) {
+                        uuidCodec.bind(ps, index++, patientId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            Patient patient = mapResultSetToPatient(rs, uuidCodec);
+                            patients.put(patient.getPatientId(), patient);
+                        }
+                    }
+                }
+            }
+            return patients;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al buscar pacientes por ID", e);
+        }
+    }
         
     /**
      * Busca un paciente por su DNI
@@ -249,7 +375,7 @@ public class PatientDAO {
             ps.setString(1, patientDNI);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToPatient(rs);
+                    return mapResultSetToPatient(rs, uuidCodec);
                 } else {
                     throw new EntityNotFoundException("Patient", patientDNI);
                 }
@@ -297,6 +423,32 @@ public class PatientDAO {
         }
     }
         
+    private void setInsertParameters(PreparedStatement ps, Patient patient) throws SQLException {
+        uuidCodec.bind(ps, 1, patient.getPatientId());
+        ps.setString(2, patient.getPatientDNI());
+        ps.setString(3, patient.getPatientName());
+        ps.setString(4, patient.getPatientLastName());
+        ps.setDate(5, Date.valueOf(patient.getPatientBirthDate()));
+        ps.setString(6, patient.getPatientOccupation());
+        ps.setString(7, patient.getPatientPhone());
+        ps.setString(8, patient.getPatientEmail());
+        uuidCodec.bind(ps, 9, patient.getCityId());
+        ps.setString(10, patient.getPatientAddress());
+        ps.setInt(11, patient.getPatientAddressNumber());
+
+        if (patient.getPatientAddressFloor() >= 0) {
+            ps.setInt(12, patient.getPatientAddressFloor());
+        } else {
+            ps.setNull(12, Types.INTEGER);
+        }
+
+        if (patient.getPatientAddressDepartment() != null) {
+            ps.setString(13, patient.getPatientAddressDepartment());
+        } else {
+            ps.setNull(13, Types.VARCHAR);
+        }
+    }
+    
     private void handleConstraintViolation(SQLException e, String entity) {
         if (e.getErrorCode() == MYSQL_DUPLICATE_ERROR) {
             String msg = e.getMessage().toLowerCase();
@@ -309,12 +461,14 @@ public class PatientDAO {
     }
     
     /**
-     * Mapea un ResultSet en un Patient
-     * @param ResultSet del paciente
+     * Mapea un ResultSet en un Patient. Lo comparte ConsultationDAO para las
+     * filas de la agenda, que traen las columnas de tbl_patient
+     * @param rs ResultSet posicionado en la fila del paciente
+     * @param uuidCodec formato de las claves UUID
      */
-    private Patient mapResultSetToPatient(ResultSet rs) throws SQLException {
+    static Patient mapResultSetToPatient(ResultSet rs, UuidCodec uuidCodec) throws SQLException {
         return new Patient(
-            UUID.fromString(rs.getString("patient_id")),
+            uuidCodec.read(rs, "patient_id"),
             rs.getString("patient_dni"),
             rs.getString("patient_name"),
             rs.getString("patient_last_name"),
@@ -322,7 +476,7 @@ public class PatientDAO {
             rs.getString("patient_occupation"),
             rs.getString("patient_phone"),
             rs.getString("patient_email"),
-            UUID.fromString(rs.getString("city_id")),
+            uuidCodec.read(rs, "city_id"),
             rs.getString("patient_address"),
             rs.getInt("patient_address_number"),
             rs.getInt("patient_address_floor"),
@@ -331,11 +485,11 @@ public class PatientDAO {
     }
 
     /**
-     * Obtiene una conexión a la base de datos
+     * Obtiene una conexión del pool compartido
      */
     private Connection getConnection() {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return dataSource.getConnection();
         } catch (SQLException e) {
             throw new DataAccessException("Error al conectar con la base de datos", e);
         }
@@ -0,0 +1,433 @@
+package com.application.model.database;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Pool de conexiones JDBC acotado y compartido por todos los DAO.
+ * Mantiene un mínimo de conexiones ociosas, valida cada conexión al prestarla,
+ * retira las que superan su tiempo de vida máximo y reporta las conexiones
+ * que permanecen prestadas más tiempo del esperado (posibles fugas).
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private static final String URL = "jdbc:mysql://localhost:3306/therapist_db?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
+    private static final String USER = "root";
+    private static final String PASSWORD = "root";
+
+    private static final int DEFAULT_MIN_IDLE = 2;
+    private static final int DEFAULT_MAX_POOL_SIZE = 10;
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60_000;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 30 * 60_000;
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MS = 30_000;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxPoolSize;
+    private final long connectionTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long leakDetectionThresholdMillis;
+
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    /**
+     * Crea el pool con la configuración por defecto de la aplicación
+     */
+    public ConnectionPool() {
+        this(URL, USER, PASSWORD,
+             DEFAULT_MIN_IDLE,
+             DEFAULT_MAX_POOL_SIZE,
+             DEFAULT_CONNECTION_TIMEOUT_MS,
+             DEFAULT_IDLE_TIMEOUT_MS,
+             DEFAULT_MAX_LIFETIME_MS,
+             DEFAULT_LEAK_DETECTION_THRESHOLD_MS);
+    }
+
+    /**
+     * Crea el pool con la configuración por defecto de la aplicación pero con
+     * otra cantidad máxima de conexiones (por ejemplo, una por hilo de carga)
+     * @param maxPoolSize cantidad máxima de conexiones prestadas en simultáneo
+     */
+    public ConnectionPool(int maxPoolSize) {
+        this(URL, USER, PASSWORD,
+             Math.min(DEFAULT_MIN_IDLE, maxPoolSize),
+             maxPoolSize,
+             DEFAULT_CONNECTION_TIMEOUT_MS,
+             DEFAULT_IDLE_TIMEOUT_MS,
+             DEFAULT_MAX_LIFETIME_MS,
+             DEFAULT_LEAK_DETECTION_THRESHOLD_MS);
+    }
+
+    /**
+     * Crea el pool con una configuración personalizada
+     * @param url URL JDBC de la base de datos
+     * @param user usuario de la base de datos
+     * @param password contraseña del usuario
+     * @param minIdle cantidad mínima de conexiones ociosas a mantener
+     * @param maxPoolSize cantidad máxima de conexiones prestadas en simultáneo
+     * @param connectionTimeoutMillis espera máxima para obtener una conexión
+     * @param idleTimeoutMillis tiempo tras el cual se cierra una conexión ociosa sobrante
+     * @param maxLifetimeMillis tiempo de vida máximo de una conexión física
+     * @param leakDetectionThresholdMillis tiempo prestada a partir del cual se reporta una posible fuga (0 = desactivado)
+     */
+    public ConnectionPool(
+            String url,
+            String user,
+            String password,
+            int minIdle,
+            int maxPoolSize,
+            long connectionTimeoutMillis,
+            long idleTimeoutMillis,
+            long maxLifetimeMillis,
+            long leakDetectionThresholdMillis) {
+        if (maxPoolSize <= 0 || minIdle < 0 || minIdle > maxPoolSize) {
+            throw new IllegalArgumentException("Configuración de pool inválida: minIdle=" + minIdle + ", maxPoolSize=" + maxPoolSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxPoolSize = maxPoolSize;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.permits = new Semaphore(maxPoolSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(
+                this::housekeep, HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Presta una conexión del pool. Al cerrarla vuelve al pool en lugar de cerrarse.
+     * @return conexión validada lista para usar
+     * @throws SQLException si el pool está cerrado, se agota la espera o falla la conexión
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión del pool", e);
+        }
+        if (!acquired) {
+            throw new SQLTimeoutException(String.format(
+                    "No hay conexiones disponibles tras %d ms (prestadas: %d/%d)",
+                    connectionTimeoutMillis, borrowedConnections.size(), maxPoolSize));
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = createPhysicalConnection();
+            }
+            pooled.markBorrowed(leakDetectionThresholdMillis > 0);
+            borrowedConnections.add(pooled);
+            return pooled.createHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El pool utiliza credenciales fijas");
+    }
+
+    /**
+     * Abre conexiones hasta alcanzar el mínimo de ociosas configurado
+     * @throws SQLException si no es posible conectar con la base de datos
+     */
+    public void warmUp() throws SQLException {
+        while (!closed && idleConnections.size() < minIdle
+                && idleConnections.size() + borrowedConnections.size() < maxPoolSize) {
+            idleConnections.offerLast(createPhysicalConnection());
+        }
+    }
+
+    /**
+     * @return cantidad de conexiones prestadas actualmente
+     */
+    public int getActiveConnections() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * @return cantidad de conexiones ociosas en el pool
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Cierra el pool y todas sus conexiones ociosas. Las conexiones prestadas
+     * se cierran físicamente al devolverse.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    /**
+     * Obtiene una conexión ociosa válida, descartando las vencidas o rotas
+     */
+    private PooledConnection takeValidIdleConnection() {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            if (pooled.isExpired(maxLifetimeMillis) || !pooled.isValid()) {
+                pooled.closePhysical();
+                continue;
+            }
+            return pooled;
+        }
+        return null;
+    }
+
+    private PooledConnection createPhysicalConnection() throws SQLException {
+        return new PooledConnection(DriverManager.getConnection(url, user, password));
+    }
+
+    /**
+     * Devuelve una conexión al pool (invocado al cerrar el handle prestado)
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            borrowedConnections.remove(pooled);
+            if (closed || pooled.isExpired(maxLifetimeMillis) || !pooled.resetState()) {
+                pooled.closePhysical();
+            } else {
+                pooled.markReturned();
+                idleConnections.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Tarea periódica: retira conexiones vencidas u ociosas de más, repone el
+     * mínimo de ociosas y reporta posibles fugas de conexiones prestadas.
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            Iterator<PooledConnection> it = idleConnections.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                boolean idleTooLong = idleConnections.size() > minIdle
+                        && now - pooled.lastUsedAt > idleTimeoutMillis;
+                if ((pooled.isExpired(maxLifetimeMillis) || idleTooLong) && idleConnections.remove(pooled)) {
+                    pooled.closePhysical();
+                }
+            }
+
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowedConnections) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMillis) {
+                        pooled.leakReported = true;
+                        LOGGER.log(Level.WARNING, String.format(
+                                "Posible fuga de conexión: prestada hace %d ms", now - pooled.borrowedAt),
+                                pooled.borrowTrace);
+                    }
+                }
+            }
+
+            warmUp();
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error en el mantenimiento del pool de conexiones", e);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("El pool no implementa " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Conexión física administrada por el pool
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsedAt = createdAt;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private boolean isExpired(long lifetimeMillis) {
+            return lifetimeMillis > 0 && System.currentTimeMillis() - createdAt > lifetimeMillis;
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void markBorrowed(boolean captureTrace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = captureTrace ? new Throwable("Conexión prestada aquí") : null;
+            leakReported = false;
+        }
+
+        private void markReturned() {
+            lastUsedAt = System.currentTimeMillis();
+            borrowTrace = null;
+        }
+
+        /**
+         * Restaura el estado por defecto antes de devolver la conexión al pool
+         * @return false si la conexión quedó inutilizable
+         */
+        private boolean resetState() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error al cerrar conexión física", e);
+            }
+        }
+
+        /**
+         * Crea el handle que se entrega al DAO; su close() devuelve la conexión al pool
+         */
+        private Connection createHandle() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean handleClosed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!handleClosed) {
+                                handleClosed = true;
+                                release(PooledConnection.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return handleClosed || physical.isClosed();
+                        case "toString":
+                            return "PooledConnection[" + physical + "]";
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (handleClosed) {
+                                throw new SQLException("La conexión ya fue devuelta al pool");
+                            }
+                            try {
+                                return method.invoke(physical, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+    }
+}
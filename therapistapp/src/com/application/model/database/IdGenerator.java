@@ -0,0 +1,48 @@
+package com.application.model.database;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Genera los identificadores de las filas nuevas. Cualquier UUID es válido
+ * como clave, de modo que los identificadores ya guardados siguen sirviendo
+ * sin importar el generador que se use después.
+ *
+ * El generador por defecto se elige con la propiedad del sistema
+ * therapistapp.idGenerator: timeOrdered (valor por defecto) o random.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String GENERATOR_PROPERTY = "therapistapp.idGenerator";
+
+    /**
+     * UUID versión 4 completamente aleatorio, el formato original de las claves
+     */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * @return identificador nuevo
+     */
+    UUID nextId();
+
+    /**
+     * Generador compartido por los servicios, configurado con therapistapp.idGenerator
+     */
+    IdGenerator DEFAULT = fromProperty(System.getProperty(GENERATOR_PROPERTY, "timeOrdered"));
+
+    private static IdGenerator fromProperty(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "random" -> RANDOM;
+            case "timeordered" -> new TimeOrderedIdGenerator();
+            default -> {
+                Logger.getLogger(IdGenerator.class.getName()).log(Level.WARNING,
+                        "Valor no válido para {0}: {1}; se usan identificadores ordenados por tiempo",
+                        new Object[]{GENERATOR_PROPERTY, name});
+                yield new TimeOrderedIdGenerator();
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.application.model.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Cambio versionado del esquema de la base de datos. Los pasos verifican el
+ * estado actual antes de aplicarse, de modo que una migración interrumpida a
+ * mitad de camino (MySQL confirma cada DDL por separado) se pueda repetir.
+ * @param version número de versión; las migraciones se aplican en orden creciente
+ * @param description descripción breve que queda registrada en tbl_schema_version
+ * @param steps pasos de la migración, en orden
+ */
+public record Migration(int version, String description, List<Migration.Step> steps) {
+
+    private static final String INDEX_EXISTS_SQL =
+        "SELECT 1 FROM information_schema.statistics " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1";
+
+    private static final String FOREIGN_KEY_EXISTS_SQL =
+        "SELECT 1 FROM information_schema.table_constraints " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND constraint_name = ? " +
+        "AND constraint_type = 'FOREIGN KEY' LIMIT 1";
+
+    /**
+     * Paso de una migración
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Agrega un índice si la tabla todavía no tiene uno con ese nombre
+     * @param table tabla
+     * @param indexName nombre del índice
+     * @param definition definición para ALTER TABLE ... ADD, por ejemplo "INDEX idx (a, b)"
+     * @return paso de la migración
+     */
+    public static Step addIndex(String table, String indexName, String definition) {
+        return conn -> {
+            if (!indexExists(conn, table, indexName)) {
+                execute(conn, "ALTER TABLE " + table + " ADD " + definition);
+            }
+        };
+    }
+
+    /**
+     * Quita un índice si existe
+     * @param table tabla
+     * @param indexName nombre del índice
+     * @return paso de la migración
+     */
+    public static Step dropIndex(String table, String indexName) {
+        return conn -> {
+            if (indexExists(conn, table, indexName)) {
+                execute(conn, "ALTER TABLE " + table + " DROP INDEX " + indexName);
+            }
+        };
+    }
+
+    /**
+     * Agrega una clave foránea si la tabla todavía no tiene una con ese nombre
+     * @param table tabla
+     * @param constraintName nombre de la restricción
+     * @param definition definición para ALTER TABLE ... ADD CONSTRAINT, por ejemplo "FOREIGN KEY (a) REFERENCES t (a)"
+     * @return paso de la migración
+     */
+    public static Step addForeignKey(String table, String constraintName, String definition) {
+        return conn -> {
+            if (!foreignKeyExists(conn, table, constraintName)) {
+                execute(conn, "ALTER TABLE " + table + " ADD CONSTRAINT " + constraintName + " " + definition);
+            }
+        };
+    }
+
+    /**
+     * Quita una clave foránea si existe; el índice que la respaldaba se conserva
+     * @param table tabla
+     * @param constraintName nombre de la restricción
+     * @return paso de la migración
+     */
+    public static Step dropForeignKey(String table, String constraintName) {
+        return conn -> {
+            if (foreignKeyExists(conn, table, constraintName)) {
+                execute(conn, "ALTER TABLE " + table + " DROP FOREIGN KEY " + constraintName);
+            }
+        };
+    }
+
+    /**
+     * Ejecuta una sentencia tal cual; solo para cambios que se pueden repetir sin error
+     * @param sql sentencia a ejecutar
+     * @return paso de la migración
+     */
+    public static Step sql(String sql) {
+        return conn -> execute(conn, sql);
+    }
+
+    private static boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(INDEX_EXISTS_SQL)) {
+            ps.setString(1, table);
+            ps.setString(2, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static boolean foreignKeyExists(Connection conn, String table, String constraintName) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(FOREIGN_KEY_EXISTS_SQL)) {
+            ps.setString(1, table);
+            ps.setString(2, constraintName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.application.model.database;
+
+import static com.application.model.database.Migration.addIndex;
+import static com.application.model.database.Migration.dropIndex;
+
+import java.util.List;
+
+/**
+ * Migraciones del esquema de la aplicación, en orden. Una migración ya
+ * publicada no se modifica: los cambios nuevos van en una versión nueva.
+ */
+public final class SchemaMigrations {
+
+    public static final List<Migration> ALL = List.of(
+        // Agenda del día, conteos del calendario y control de superposición
+        // filtran por fecha y consultas activas y ordenan por hora de inicio
+        new Migration(1, "Índice de consultas por fecha", List.of(
+            addIndex("tbl_consultation", "idx_consultation_date_active_start",
+                "INDEX idx_consultation_date_active_start (consultation_date, is_active, consultation_start_time)"))),
+
+        // Consultas activas de un paciente; reemplaza al índice simple que
+        // MySQL creó para la clave foránea
+        new Migration(2, "Índice de pacientes de consultas activas", List.of(
+            addIndex("tbl_consultation_patient", "idx_consultation_patient_active",
+                "INDEX idx_consultation_patient_active (patient_id, is_active)"),
+            dropIndex("tbl_consultation_patient", "patient_id"))),
+
+        // Dos consultas activas no pueden empezar el mismo día a la misma hora.
+        // Las consultas dadas de baja quedan con NULL en el índice y no lo ocupan.
+        // ConsultationDAO traduce la violación a ConstraintViolationException.
+        new Migration(3, "Clave única de horario de consultas activas", List.of(
+            addIndex("tbl_consultation", "uk_consultation_time",
+                "UNIQUE KEY uk_consultation_time (" +
+                "(IF(is_active = 1, consultation_date, NULL)), " +
+                "(IF(is_active = 1, consultation_start_time, NULL)))"))),
+
+        // Listado paginado de pacientes: filtra por activos y recorre por
+        // apellido e id, de modo que cada página es un rango del índice
+        new Migration(4, "Índice de pacientes por apellido", List.of(
+            addIndex("tbl_patient", "idx_patient_active_last_name",
+                "INDEX idx_patient_active_last_name (is_active, patient_last_name, patient_id)")))
+    );
+
+    private SchemaMigrations() {
+    }
+}
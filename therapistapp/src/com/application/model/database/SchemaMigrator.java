@@ -0,0 +1,176 @@
+package com.application.model.database;
+
+import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Lleva el esquema de la base de datos a la última versión al iniciar la
+ * aplicación. La versión aplicada se guarda en tbl_schema_version; solo se
+ * ejecutan las migraciones posteriores, en orden. Un bloqueo con nombre de
+ * MySQL evita que dos instancias migren a la vez.
+ */
+public class SchemaMigrator {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+
+    private static final String LOCK_NAME = "therapistapp_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String CREATE_VERSION_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS tbl_schema_version ( " +
+        "version int NOT NULL, " +
+        "description varchar(200) COLLATE utf8mb4_unicode_ci NOT NULL, " +
+        "installed_on timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+        "execution_ms int NOT NULL, " +
+        "PRIMARY KEY (version) " +
+        ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci";
+
+    private static final String SELECT_CURRENT_VERSION_SQL =
+        "SELECT COALESCE(MAX(version), 0) FROM tbl_schema_version";
+
+    private static final String INSERT_VERSION_SQL =
+        "INSERT INTO tbl_schema_version (version, description, execution_ms) VALUES (?, ?, ?)";
+
+    private static final String GET_LOCK_SQL = "SELECT GET_LOCK(?, ?)";
+    private static final String RELEASE_LOCK_SQL = "SELECT RELEASE_LOCK(?)";
+
+    private final DataSource dataSource;
+    private final List<Migration> migrations;
+
+    /**
+     * Migrador con las migraciones de la aplicación
+     * @param dataSource origen de las conexiones
+     */
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, SchemaMigrations.ALL);
+    }
+
+    /**
+     * @param dataSource origen de las conexiones
+     * @param migrations migraciones disponibles; se ordenan por versión
+     */
+    public SchemaMigrator(DataSource dataSource, List<Migration> migrations) {
+        this.dataSource = dataSource;
+        this.migrations = migrations.stream()
+                .sorted(Comparator.comparingInt(Migration::version))
+                .toList();
+    }
+
+    /**
+     * Aplica las migraciones pendientes
+     * @return versión del esquema al terminar
+     * @throws DataAccessException Si falla una migración; las anteriores quedan aplicadas
+     */
+    public int migrate() {
+        try (Connection conn = dataSource.getConnection()) {
+            acquireLock(conn);
+            try {
+                execute(conn, CREATE_VERSION_TABLE_SQL);
+                int version = getCurrentVersion(conn);
+                for (Migration migration : migrations) {
+                    if (migration.version() > version) {
+                        apply(conn, migration);
+                        version = migration.version();
+                    }
+                }
+                return version;
+            } finally {
+                releaseLock(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al actualizar el esquema de la base de datos", e);
+        }
+    }
+
+    /**
+     * Aplica pasos que no forman parte de la secuencia de versiones, como el
+     * cambio de formato de los identificadores, con el mismo bloqueo que las
+     * migraciones. No se registran en tbl_schema_version, por lo que los pasos
+     * deben poder repetirse.
+     * @param description descripción para el registro
+     * @param steps pasos a aplicar, en orden
+     * @throws DataAccessException Si falla un paso; los anteriores quedan aplicados
+     */
+    public void applyUnversioned(String description, List<Migration.Step> steps) {
+        try (Connection conn = dataSource.getConnection()) {
+            acquireLock(conn);
+            try {
+                LOGGER.log(Level.INFO, "Aplicando: {0}", description);
+                long start = System.nanoTime();
+                for (Migration.Step step : steps) {
+                    step.apply(conn);
+                }
+                LOGGER.log(Level.INFO, "{0}: terminado en {1} ms",
+                        new Object[]{description, (System.nanoTime() - start) / 1_000_000});
+            } finally {
+                releaseLock(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al aplicar: " + description, e);
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        LOGGER.log(Level.INFO, "Aplicando migración {0}: {1}", new Object[]{migration.version(), migration.description()});
+        long start = System.nanoTime();
+        try {
+            for (Migration.Step step : migration.steps()) {
+                step.apply(conn);
+            }
+        } catch (SQLException e) {
+            throw new SQLException(String.format("Falló la migración %d (%s): %s",
+                    migration.version(), migration.description(), e.getMessage()), e.getSQLState(), e.getErrorCode(), e);
+        }
+        int elapsedMillis = (int) ((System.nanoTime() - start) / 1_000_000);
+
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_VERSION_SQL)) {
+            ps.setInt(1, migration.version());
+            ps.setString(2, migration.description());
+            ps.setInt(3, elapsedMillis);
+            ps.executeUpdate();
+        }
+        LOGGER.log(Level.INFO, "Migración {0} aplicada en {1} ms", new Object[]{migration.version(), elapsedMillis});
+    }
+
+    private int getCurrentVersion(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_CURRENT_VERSION_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(GET_LOCK_SQL)) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Otra instancia está actualizando el esquema de la base de datos");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement(RELEASE_LOCK_SQL)) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo liberar el bloqueo de migración", e);
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
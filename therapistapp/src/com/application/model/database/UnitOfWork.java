@@ -0,0 +1,108 @@
+package com.application.model.database;
+
+import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Unidad de trabajo: agrupa varias operaciones de DAO sobre una misma conexión
+ * dentro de una única transacción. Si no se confirma con commit() antes de
+ * cerrarse, todos los cambios se deshacen.
+ *
+ * Uso típico:
+ * <pre>
+ * try (UnitOfWork unitOfWork = new UnitOfWork(dataSource)) {
+ *     consultationDAO.insertConsultation(unitOfWork, consultation);
+ *     consultationPatientDAO.insertConsultationPatients(unitOfWork, patients);
+ *     unitOfWork.commit();
+ * }
+ * </pre>
+ */
+public class UnitOfWork implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    private final Connection connection;
+    private boolean finished = false;
+
+    /**
+     * Toma una conexión del origen de datos e inicia la transacción
+     * @param dataSource origen de las conexiones
+     * @throws DataAccessException Si no se puede obtener la conexión
+     */
+    public UnitOfWork(DataSource dataSource) {
+        try {
+            this.connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al conectar con la base de datos", e);
+        }
+        try {
+            this.connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            closeQuietly();
+            throw new DataAccessException("Error al iniciar la transacción", e);
+        }
+    }
+
+    /**
+     * @return la conexión de la transacción; los DAO no deben cerrarla
+     */
+    public Connection getConnection() {
+        if (finished) {
+            throw new IllegalStateException("La unidad de trabajo ya fue finalizada");
+        }
+        return connection;
+    }
+
+    /**
+     * Confirma todos los cambios realizados en la unidad de trabajo
+     * @throws DataAccessException Si falla la confirmación
+     */
+    public void commit() {
+        try {
+            connection.commit();
+            finished = true;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al confirmar la transacción", e);
+        }
+    }
+
+    /**
+     * Deshace todos los cambios realizados en la unidad de trabajo
+     */
+    public void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo deshacer la transacción", e);
+        } finally {
+            finished = true;
+        }
+    }
+
+    /**
+     * Deshace los cambios no confirmados y devuelve la conexión al pool
+     */
+    @Override
+    public void close() {
+        if (!finished) {
+            rollback();
+        }
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo restablecer autocommit", e);
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo cerrar la conexión", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.application.model.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Conversión de los identificadores UUID entre Java y la base de datos. Las
+ * claves pueden guardarse como texto (char(36)) o como BINARY(16); todos los
+ * DAO enlazan y leen los identificadores a través de esta clase, de modo que
+ * el formato de almacenamiento se decide en un único lugar.
+ *
+ * El formato se elige con la propiedad del sistema therapistapp.uuidStorage
+ * (text, binary o auto). Con auto, el valor por defecto, se consulta el tipo
+ * de tbl_patient.patient_id la primera vez que se enlaza un identificador.
+ * La lectura acepta ambos formatos sin importar el modo.
+ */
+public final class UuidCodec {
+    private static final Logger LOGGER = Logger.getLogger(UuidCodec.class.getName());
+
+    public static final String STORAGE_PROPERTY = "therapistapp.uuidStorage";
+
+    private static final String COLUMN_TYPE_SQL =
+        "SELECT DATA_TYPE FROM information_schema.columns " +
+        "WHERE table_schema = DATABASE() AND table_name = 'tbl_patient' AND column_name = 'patient_id'";
+
+    /**
+     * Formato de almacenamiento de los identificadores
+     */
+    public enum Storage {
+        TEXT,
+        BINARY
+    }
+
+    private static final UuidCodec INSTANCE = new UuidCodec(parseStorage(System.getProperty(STORAGE_PROPERTY, "auto")));
+
+    // null mientras no se haya detectado el formato de la base de datos
+    private volatile Storage storage;
+
+    /**
+     * @param storage formato fijo, o null para detectarlo en el primer uso
+     */
+    public UuidCodec(Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * @return códec compartido por los DAO, configurado con therapistapp.uuidStorage
+     */
+    public static UuidCodec getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enlaza un identificador en el formato de la base de datos
+     * @param ps sentencia preparada
+     * @param index posición del parámetro
+     * @param id identificador
+     * @throws SQLException si no se puede enlazar el parámetro
+     */
+    public void bind(PreparedStatement ps, int index, UUID id) throws SQLException {
+        if (resolveStorage(ps) == Storage.BINARY) {
+            ps.setBytes(index, toBytes(id));
+        } else {
+            ps.setString(index, id.toString());
+        }
+    }
+
+    /**
+     * Lee un identificador guardado como texto o como BINARY(16)
+     * @param rs resultado posicionado en la fila
+     * @param column nombre de la columna
+     * @return identificador, o null si la columna es NULL
+     * @throws SQLException si la columna no existe o su valor no es un UUID
+     */
+    public UUID read(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        return switch (value) {
+            case null -> null;
+            case byte[] bytes -> fromBytes(bytes);
+            case UUID uuid -> uuid;
+            default -> UUID.fromString(value.toString());
+        };
+    }
+
+    /**
+     * @return formato en uso, o null si todavía no se detectó
+     */
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * @param id identificador
+     * @return los 16 bytes del identificador, en el mismo orden que UUID_TO_BIN de MySQL
+     */
+    public static byte[] toBytes(UUID id) {
+        byte[] bytes = new byte[16];
+        putLong(bytes, 0, id.getMostSignificantBits());
+        putLong(bytes, 8, id.getLeastSignificantBits());
+        return bytes;
+    }
+
+    /**
+     * @param bytes 16 bytes en el orden de UUID_TO_BIN de MySQL
+     * @return identificador
+     * @throws IllegalArgumentException si no son exactamente 16 bytes
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Un UUID binario debe tener 16 bytes, tiene " + bytes.length);
+        }
+        return new UUID(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    /**
+     * Consulta el formato en que la base de datos guarda los identificadores
+     * @param conn conexión a la base de datos
+     * @return formato de tbl_patient.patient_id
+     * @throws SQLException si falla la consulta
+     */
+    public static Storage detectStorage(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(COLUMN_TYPE_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() && "binary".equalsIgnoreCase(rs.getString(1)) ? Storage.BINARY : Storage.TEXT;
+        }
+    }
+
+    private Storage resolveStorage(PreparedStatement ps) throws SQLException {
+        Storage current = storage;
+        return current != null ? current : detect(ps);
+    }
+
+    private synchronized Storage detect(PreparedStatement ps) throws SQLException {
+        if (storage == null) {
+            Connection conn = ps.getConnection();
+            storage = conn != null ? detectStorage(conn) : Storage.TEXT;
+            LOGGER.log(Level.INFO, "Identificadores almacenados como {0}", storage);
+        }
+        return storage;
+    }
+
+    private static Storage parseStorage(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "text" -> Storage.TEXT;
+            case "binary" -> Storage.BINARY;
+            case "auto" -> null;
+            default -> {
+                LOGGER.log(Level.WARNING, "Valor no válido para {0}: {1}; se detecta automáticamente",
+                        new Object[]{STORAGE_PROPERTY, value});
+                yield null;
+            }
+        };
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
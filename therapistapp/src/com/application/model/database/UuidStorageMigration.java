@@ -0,0 +1,118 @@
+package com.application.model.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pasos para cambiar el formato de todas las claves UUID entre char(36) y
+ * BINARY(16). No forma parte de las migraciones versionadas porque el formato
+ * es opcional: se aplica a pedido con SchemaMigrator.applyUnversioned.
+ *
+ * Las claves foráneas se quitan antes de convertir y se vuelven a crear al
+ * final. Cada columna pasa primero a VARBINARY(36), que admite los dos
+ * formatos, se convierte con UUID_TO_BIN o BIN_TO_UUID solo en las filas que
+ * todavía tienen el formato anterior y luego toma su tipo definitivo; así una
+ * conversión interrumpida se puede repetir. Conviene ejecutarla con la
+ * aplicación cerrada y con un respaldo previo.
+ */
+public final class UuidStorageMigration {
+    private static final Logger LOGGER = Logger.getLogger(UuidStorageMigration.class.getName());
+
+    private static final String COLUMN_TYPE_SQL =
+        "SELECT DATA_TYPE FROM information_schema.columns " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+
+    private record UuidColumn(String table, String column, boolean generated) {}
+
+    private record ForeignKey(String table, String name, String definition) {}
+
+    private static final List<UuidColumn> COLUMNS = List.of(
+        new UuidColumn("tbl_city", "city_id", true),
+        new UuidColumn("tbl_patient", "patient_id", true),
+        new UuidColumn("tbl_patient", "city_id", false),
+        new UuidColumn("tbl_consultation", "consultation_id", true),
+        new UuidColumn("tbl_consultation_patient", "consultation_id", false),
+        new UuidColumn("tbl_consultation_patient", "patient_id", false)
+    );
+
+    private static final List<ForeignKey> FOREIGN_KEYS = List.of(
+        new ForeignKey("tbl_patient", "tbl_patient_ibfk_1",
+            "FOREIGN KEY (city_id) REFERENCES tbl_city (city_id) ON DELETE RESTRICT ON UPDATE CASCADE"),
+        new ForeignKey("tbl_consultation_patient", "tbl_consultation_patient_ibfk_1",
+            "FOREIGN KEY (consultation_id) REFERENCES tbl_consultation (consultation_id) ON DELETE CASCADE ON UPDATE CASCADE"),
+        new ForeignKey("tbl_consultation_patient", "tbl_consultation_patient_ibfk_2",
+            "FOREIGN KEY (patient_id) REFERENCES tbl_patient (patient_id) ON DELETE CASCADE ON UPDATE CASCADE")
+    );
+
+    private UuidStorageMigration() {
+    }
+
+    /**
+     * @param target formato al que se llevan las claves
+     * @return descripción para el registro de la migración
+     */
+    public static String describe(UuidCodec.Storage target) {
+        return "Claves UUID como " + (target == UuidCodec.Storage.BINARY ? "BINARY(16)" : "char(36)");
+    }
+
+    /**
+     * @param target formato al que se llevan las claves
+     * @return pasos de la conversión, en orden
+     */
+    public static List<Migration.Step> stepsTo(UuidCodec.Storage target) {
+        List<Migration.Step> steps = new ArrayList<>();
+        FOREIGN_KEYS.forEach(fk -> steps.add(Migration.dropForeignKey(fk.table(), fk.name())));
+        COLUMNS.forEach(column -> steps.add(convert(column, target)));
+        FOREIGN_KEYS.forEach(fk -> steps.add(Migration.addForeignKey(fk.table(), fk.name(), fk.definition())));
+        return steps;
+    }
+
+    private static Migration.Step convert(UuidColumn column, UuidCodec.Storage target) {
+        boolean toBinary = target == UuidCodec.Storage.BINARY;
+        String finalType = toBinary
+            ? "BINARY(16) NOT NULL" + (column.generated() ? " DEFAULT (UUID_TO_BIN(UUID()))" : "")
+            : "char(36) COLLATE utf8mb4_unicode_ci NOT NULL" + (column.generated() ? " DEFAULT (uuid())" : "");
+        String update = toBinary
+            ? "UPDATE " + column.table() + " SET " + column.column() + " = UUID_TO_BIN(" + column.column() + ") " +
+              "WHERE LENGTH(" + column.column() + ") = 36"
+            : "UPDATE " + column.table() + " SET " + column.column() + " = BIN_TO_UUID(" + column.column() + ") " +
+              "WHERE LENGTH(" + column.column() + ") = 16";
+
+        return conn -> {
+            if ((toBinary ? "binary" : "char").equalsIgnoreCase(columnType(conn, column))) {
+                return;
+            }
+            LOGGER.log(Level.INFO, "Convirtiendo {0}.{1}", new Object[]{column.table(), column.column()});
+            String alter = "ALTER TABLE " + column.table() + " MODIFY " + column.column() + " ";
+            execute(conn, alter + "VARBINARY(36) NOT NULL");
+            execute(conn, update);
+            execute(conn, alter + finalType);
+        };
+    }
+
+    private static String columnType(Connection conn, UuidColumn column) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(COLUMN_TYPE_SQL)) {
+            ps.setString(1, column.table());
+            ps.setString(2, column.column());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No existe la columna " + column.table() + "." + column.column());
+                }
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.application.model.database.metrics;
+
+import com.application.model.dao.CityDAO;
+import com.application.model.dao.ConsultationDAO;
+import com.application.model.dao.ConsultationPatientDAO;
+import com.application.model.dao.PatientDAO;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * DataSource que mide todas las sentencias que ejecutan los DAO sin cambiar su
+ * código: envuelve las conexiones, sentencias y resultados del DataSource real
+ * y registra por sentencia la latencia, las filas y la espera de conexión en
+ * StatementMetrics (publicado por JMX) y como eventos JFR (StatementEvent).
+ *
+ * La latencia de una consulta va desde que se ejecuta hasta que se cierra su
+ * ResultSet, es decir, incluye leer y mapear las filas; la de una modificación
+ * o un lote termina cuando el driver devuelve la cantidad de filas afectadas.
+ * La espera de conexión se atribuye a la primera sentencia de cada conexión.
+ */
+public class InstrumentedDataSource implements DataSource {
+
+    private final DataSource delegate;
+    private final StatementMetrics metrics;
+
+    /**
+     * Mide las sentencias de los DAO de la aplicación y las publica por JMX
+     * @param delegate DataSource real
+     */
+    public InstrumentedDataSource(DataSource delegate) {
+        this(delegate, new StatementMetrics(
+                new StatementCatalog(PatientDAO.class, ConsultationDAO.class, ConsultationPatientDAO.class, CityDAO.class),
+                true));
+    }
+
+    /**
+     * @param delegate DataSource real
+     * @param metrics registro de métricas por sentencia
+     */
+    public InstrumentedDataSource(DataSource delegate, StatementMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return métricas de las sentencias ejecutadas
+     */
+    public StatementMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        return wrapConnection(connection, System.nanoTime() - start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection(username, password);
+        return wrapConnection(connection, System.nanoTime() - start);
+    }
+
+    private Connection wrapConnection(Connection connection, long acquireNanos) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection, acquireNanos));
+    }
+
+    /**
+     * Envuelve las sentencias creadas por la conexión
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private long pendingAcquireNanos;
+
+        ConnectionHandler(Connection connection, long acquireNanos) {
+            this.connection = connection;
+            this.pendingAcquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        }
+
+        private Object wrapStatement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql, takeAcquireNanos()));
+        }
+
+        private long takeAcquireNanos() {
+            long acquireNanos = pendingAcquireNanos;
+            pendingAcquireNanos = -1;
+            return acquireNanos;
+        }
+    }
+
+    /**
+     * Mide cada ejecución de la sentencia
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private long acquireNanos;
+        private Execution openExecution;
+
+        StatementHandler(Statement statement, String sql, long acquireNanos) {
+            this.statement = statement;
+            this.sql = sql;
+            this.acquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("close") && openExecution != null) {
+                openExecution.finish(true);
+            }
+            return invokeTarget(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            // Statement.execute*(sql) recibe el SQL; PreparedStatement lo recibió al crearse
+            if (openExecution != null) {
+                // Se vuelve a ejecutar sin haber cerrado el ResultSet anterior
+                openExecution.finish(true);
+                openExecution = null;
+            }
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            Execution execution = new Execution(metrics, metrics.statsFor(executedSql), acquireNanos);
+            acquireNanos = -1;
+
+            Object result;
+            try {
+                result = invokeTarget(statement, method, args);
+            } catch (Throwable e) {
+                execution.finish(false);
+                throw e;
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                openExecution = execution;
+                return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class},
+                        new ResultSetHandler(resultSet, execution));
+            }
+            if (result instanceof Boolean isResultSet && isResultSet) {
+                // execute() con resultados: se leen con getResultSet, fuera de la medición
+                execution.finish(true);
+                return result;
+            }
+            execution.addRows(affectedRows(result));
+            execution.finish(true);
+            return result;
+        }
+
+        private long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(0, count);
+            }
+            if (result instanceof Long count) {
+                return Math.max(0, count);
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(0, count);
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Cuenta las filas leídas y cierra la medición de la consulta al cerrarse
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet resultSet, Execution execution) {
+            this.resultSet = resultSet;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(resultSet, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        execution.addRows(1);
+                    }
+                }
+                case "close" -> execution.finish(true);
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Una ejecución en curso de una sentencia
+     */
+    private static final class Execution {
+        private final StatementMetrics metrics;
+        private final StatementStats stats;
+        private final long acquireNanos;
+        private final long startNanos = System.nanoTime();
+        private final StatementMetrics.ActiveStatement active;
+        private final StatementEvent event = new StatementEvent();
+        private long rows;
+        private boolean finished;
+
+        Execution(StatementMetrics metrics, StatementStats stats, long acquireNanos) {
+            this.metrics = metrics;
+            this.stats = stats;
+            this.acquireNanos = acquireNanos;
+            this.active = metrics.statementStarted(stats, startNanos);
+            event.begin();
+        }
+
+        void addRows(long count) {
+            rows += count;
+        }
+
+        void finish(boolean success) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            metrics.statementFinished(active);
+            stats.record(System.nanoTime() - startNanos, rows, acquireNanos, success);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.statementId = stats.getStatementId();
+                event.rows = rows;
+                event.connectionAcquire = Math.max(0, acquireNanos);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,97 @@
+package com.application.model.database.metrics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Asocia cada texto SQL con la constante del DAO que lo define, de modo que las
+ * métricas se agrupen por sentencia ("PatientDAO.SELECT_BY_DNI") y no por texto.
+ * Las sentencias armadas en tiempo de ejecución a partir de una constante
+ * (por ejemplo, un prefijo seguido de una lista IN) se asocian a esa constante.
+ */
+public class StatementCatalog {
+    /** Identificador de las sentencias que no salen de ninguna constante conocida */
+    public static final String UNLISTED = "Unlisted";
+
+    private static final String[] SQL_KEYWORDS = {"SELECT", "INSERT", "UPDATE", "DELETE"};
+
+    private final Map<String, String> idsBySql = new HashMap<>();
+    private final Map<String, String> sqlById = new HashMap<>();
+    // Ordenadas de la más larga a la más corta, para quedarse con la coincidencia más específica
+    private final List<Map.Entry<String, String>> prefixes = new ArrayList<>();
+
+    /**
+     * Recorre las constantes String estáticas de los DAO que contienen SQL
+     * @param daoClasses clases de los DAO
+     */
+    public StatementCatalog(Class<?>... daoClasses) {
+        for (Class<?> daoClass : daoClasses) {
+            for (Field field : daoClass.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (field.getType() != String.class || !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    String sql = (String) field.get(null);
+                    if (isSql(sql)) {
+                        String statementId = daoClass.getSimpleName() + "." + field.getName();
+                        idsBySql.putIfAbsent(sql, statementId);
+                        sqlById.put(statementId, sql);
+                        prefixes.add(Map.entry(sql, statementId));
+                    }
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // Constante inaccesible: sus sentencias quedan como UNLISTED
+                }
+            }
+        }
+        prefixes.sort(Comparator.comparingInt((Map.Entry<String, String> entry) -> entry.getKey().length()).reversed());
+    }
+
+    /**
+     * @param sql texto de la sentencia preparada
+     * @return identificador de la constante de la que sale, o UNLISTED
+     */
+    public String idFor(String sql) {
+        if (sql == null) {
+            return UNLISTED;
+        }
+        String statementId = idsBySql.get(sql);
+        if (statementId != null) {
+            return statementId;
+        }
+        for (Map.Entry<String, String> prefix : prefixes) {
+            if (sql.startsWith(prefix.getKey())) {
+                return prefix.getValue();
+            }
+        }
+        return UNLISTED;
+    }
+
+    /**
+     * @param statementId identificador de la sentencia
+     * @return SQL de la constante, o null si no es una sentencia del catálogo
+     */
+    public String sqlFor(String statementId) {
+        return sqlById.get(statementId);
+    }
+
+    private static boolean isSql(String value) {
+        if (value == null) {
+            return false;
+        }
+        String start = value.stripLeading().toUpperCase(Locale.ROOT);
+        for (String keyword : SQL_KEYWORDS) {
+            if (start.startsWith(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
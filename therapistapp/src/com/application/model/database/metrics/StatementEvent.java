@@ -0,0 +1,36 @@
+package com.application.model.database.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de la ejecución de una sentencia de un DAO. Se graba con
+ * "jcmd &lt;pid&gt; JFR.start" y se analiza con JDK Mission Control o
+ * "jfr print --events com.application.DaoStatement".
+ */
+@Name("com.application.DaoStatement")
+@Label("Sentencia DAO")
+@Category({"Therapist App", "Base de datos"})
+@Description("Ejecución de una sentencia SQL de un DAO, desde que se ejecuta hasta que se terminan de leer sus filas")
+class StatementEvent extends Event {
+
+    @Label("Sentencia")
+    @Description("Identificador de la sentencia, Dao.CONSTANTE")
+    String statementId;
+
+    @Label("Filas")
+    @Description("Filas leídas o afectadas")
+    long rows;
+
+    @Label("Espera de conexión")
+    @Description("Tiempo que se esperó al pool para obtener la conexión; cero si la conexión ya estaba tomada")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionAcquire;
+
+    @Label("Correcta")
+    boolean success;
+}
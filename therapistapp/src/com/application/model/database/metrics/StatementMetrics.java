@@ -0,0 +1,105 @@
+package com.application.model.database.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas de todas las sentencias de los DAO, una por identificador de
+ * sentencia. Cada sentencia se publica como MXBean la primera vez que se ejecuta.
+ */
+public class StatementMetrics {
+    private static final Logger LOGGER = Logger.getLogger(StatementMetrics.class.getName());
+    private static final String JMX_DOMAIN = "com.application";
+
+    private final StatementCatalog catalog;
+    private final ConcurrentMap<String, StatementStats> statsById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Thread, ActiveStatement> activeStatements = new ConcurrentHashMap<>();
+    private final boolean publishToJmx;
+
+    /**
+     * @param catalog catálogo de sentencias de los DAO
+     * @param publishToJmx true para registrar cada sentencia en el MBeanServer de la plataforma
+     */
+    public StatementMetrics(StatementCatalog catalog, boolean publishToJmx) {
+        this.catalog = catalog;
+        this.publishToJmx = publishToJmx;
+    }
+
+    /**
+     * @param sql texto de la sentencia
+     * @return métricas de la sentencia del catálogo a la que corresponde
+     */
+    StatementStats statsFor(String sql) {
+        String statementId = catalog.idFor(sql);
+        StatementStats stats = statsById.get(statementId);
+        return stats != null ? stats : statsById.computeIfAbsent(statementId, this::createStats);
+    }
+
+    /**
+     * Describe las sentencias que se están ejecutando en este momento, para los
+     * diagnósticos de bloqueos de la interfaz
+     * @return una línea por hilo: "hilo: Dao.CONSTANTE (hace N ms)"
+     */
+    public List<String> describeActiveStatements() {
+        long now = System.nanoTime();
+        List<String> lines = new ArrayList<>();
+        activeStatements.forEach((thread, active) -> lines.add(String.format("%s: %s (hace %d ms)",
+                thread.getName().isEmpty() ? "hilo " + thread.threadId() : thread.getName(),
+                active.statementId(),
+                TimeUnit.NANOSECONDS.toMillis(now - active.startNanos()))));
+        return lines;
+    }
+
+    /**
+     * Marca la sentencia como en curso en el hilo actual
+     * @return marca a pasar a statementFinished
+     */
+    ActiveStatement statementStarted(StatementStats stats, long startNanos) {
+        ActiveStatement active = new ActiveStatement(Thread.currentThread(), stats.getStatementId(), startNanos);
+        activeStatements.put(active.thread(), active);
+        return active;
+    }
+
+    void statementFinished(ActiveStatement active) {
+        activeStatements.remove(active.thread(), active);
+    }
+
+    private StatementStats createStats(String statementId) {
+        StatementStats stats = new StatementStats(statementId, catalog.sqlFor(statementId));
+        if (publishToJmx) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = objectName(statementId);
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(stats, name);
+                }
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, "No se pudo publicar por JMX la sentencia " + statementId, e);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Sentencia en ejecución en un hilo
+     */
+    record ActiveStatement(Thread thread, String statementId, long startNanos) {
+    }
+
+    // Los identificadores son nombres de clase y de constante, válidos en un ObjectName sin comillas
+    private static ObjectName objectName(String statementId) throws JMException {
+        int dot = statementId.indexOf('.');
+        String dao = dot > 0 ? statementId.substring(0, dot) : "Other";
+        String name = dot > 0 ? statementId.substring(dot + 1) : statementId;
+        return new ObjectName(JMX_DOMAIN + ":type=DaoStatement,dao=" + dao + ",name=" + name);
+    }
+}
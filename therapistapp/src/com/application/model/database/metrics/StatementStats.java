@@ -0,0 +1,200 @@
+package com.application.model.database.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas de una sentencia: ejecuciones, errores, filas, latencia
+ * (con un histograma de intervalos en potencias de dos de microsegundos) y
+ * tiempo de espera de conexión. Se actualiza desde varios hilos sin bloquear.
+ */
+public class StatementStats implements StatementStatsMXBean {
+    // Intervalo i: [2^i, 2^(i+1)) µs; el último acumula todo lo que supera ~8 s
+    private static final int BUCKETS = 24;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String statementId;
+    private final String sql;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Long::max, 0);
+
+    public StatementStats(String statementId, String sql) {
+        this.statementId = statementId;
+        this.sql = sql;
+    }
+
+    /**
+     * Registra una ejecución
+     * @param elapsedNanos duración de la ejecución
+     * @param rowCount filas leídas o afectadas
+     * @param acquireNanos espera para obtener la conexión, o un valor negativo si la conexión ya estaba tomada
+     * @param success false si la sentencia terminó con error
+     */
+    void record(long elapsedNanos, long rowCount, long acquireNanos, boolean success) {
+        executions.increment();
+        if (!success) {
+            errors.increment();
+        }
+        rows.add(rowCount);
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        histogram.incrementAndGet(bucketOf(elapsedNanos));
+        if (acquireNanos >= 0) {
+            acquires.increment();
+            totalAcquireNanos.add(acquireNanos);
+            maxAcquireNanos.accumulate(acquireNanos);
+        }
+    }
+
+    @Override
+    public String getStatementId() {
+        return statementId;
+    }
+
+    @Override
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getAverageMillis() {
+        long count = executions.sum();
+        return count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPercentile50Millis() {
+        return percentileMillis(0.50);
+    }
+
+    @Override
+    public double getPercentile95Millis() {
+        return percentileMillis(0.95);
+    }
+
+    @Override
+    public double getPercentile99Millis() {
+        return percentileMillis(0.99);
+    }
+
+    @Override
+    public long getConnectionAcquires() {
+        return acquires.sum();
+    }
+
+    @Override
+    public double getAverageConnectionAcquireMillis() {
+        long count = acquires.sum();
+        return count == 0 ? 0 : totalAcquireNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    @Override
+    public double getMaxConnectionAcquireMillis() {
+        return maxAcquireNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyHistogram() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = histogram.get(i);
+            if (count > 0) {
+                String label = i == BUCKETS - 1
+                        ? String.format(">= %.3f ms", lowerBoundMicros(i) / 1000.0)
+                        : String.format("< %.3f ms", upperBoundMicros(i) / 1000.0);
+                counts.put(label, count);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        executions.reset();
+        errors.reset();
+        rows.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        acquires.reset();
+        totalAcquireNanos.reset();
+        maxAcquireNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    private double percentileMillis(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            accumulated += counts[i];
+            if (accumulated >= target) {
+                return upperBoundMicros(i) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+    }
+
+    private static long lowerBoundMicros(int bucket) {
+        return bucket == 0 ? 0 : 1L << bucket;
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        return 1L << (bucket + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d ejecuciones, media %.3f ms, p95 %.3f ms, máx %.3f ms, %d filas, %d errores",
+                statementId, getExecutions(), getAverageMillis(), getPercentile95Millis(), getMaxMillis(), getRows(), getErrors());
+    }
+}
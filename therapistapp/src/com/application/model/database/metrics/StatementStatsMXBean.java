@@ -0,0 +1,62 @@
+package com.application.model.database.metrics;
+
+import java.util.Map;
+
+/**
+ * Métricas de una sentencia SQL de un DAO publicadas por JMX
+ * (com.application:type=DaoStatement,dao=...,name=...)
+ */
+public interface StatementStatsMXBean {
+
+    /**
+     * @return identificador de la sentencia, "Dao.CONSTANTE"
+     */
+    String getStatementId();
+
+    /**
+     * @return texto SQL de la constante del DAO
+     */
+    String getSql();
+
+    long getExecutions();
+
+    long getErrors();
+
+    /**
+     * @return filas leídas (consultas) o afectadas (modificaciones) en total
+     */
+    long getRows();
+
+    double getAverageMillis();
+
+    double getMaxMillis();
+
+    /**
+     * Los percentiles se estiman con el histograma, por lo que devuelven el
+     * límite superior del intervalo en el que caen
+     */
+    double getPercentile50Millis();
+
+    double getPercentile95Millis();
+
+    double getPercentile99Millis();
+
+    /**
+     * @return ejecuciones que tuvieron que pedir una conexión al pool
+     */
+    long getConnectionAcquires();
+
+    double getAverageConnectionAcquireMillis();
+
+    double getMaxConnectionAcquireMillis();
+
+    /**
+     * @return ejecuciones por intervalo de latencia
+     */
+    Map<String, Long> getLatencyHistogram();
+
+    /**
+     * Pone en cero todas las métricas de la sentencia
+     */
+    void reset();
+}
@@ -0,0 +1,41 @@
+package com.application.model.dto;
+
+import java.util.List;
+
+public class ConsultationAgendaDTO {
+    private ConsultationDTO consultationDTO;
+    private List<PatientDTO> patientsDTO;
+
+    public ConsultationAgendaDTO() {
+    }
+
+    public ConsultationAgendaDTO(
+            ConsultationDTO consultationDTO, 
+            List<PatientDTO> patientsDTO) {
+        this.consultationDTO = consultationDTO;
+        this.patientsDTO = patientsDTO;
+    }
+
+    public ConsultationDTO getConsultationDTO() {
+        return consultationDTO;
+    }
+
+    public void setConsultationDTO(ConsultationDTO consultationDTO) {
+        this.consultationDTO = consultationDTO;
+    }
+
+    public List<PatientDTO> getPatientsDTO() {
+        return patientsDTO;
+    }
+
+    public void setPatientsDTO(List<PatientDTO> patientsDTO) {
+        this.patientsDTO = patientsDTO;
+    }
+    
+    /**
+     * @return el primer paciente de la consulta, o null si no tiene pacientes
+     */
+    public PatientDTO getFirstPatientDTO() {
+        return (patientsDTO == null || patientsDTO.isEmpty()) ? null : patientsDTO.get(0);
+    }
+}
@@ -1,11 +1,10 @@
 package com.application.model.dto;
 
-import java.awt.Image;
+import com.application.utils.PatientPhotoCache;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 
 public class PatientDTO {
     private String patientDTOId;
@@ -25,6 +24,7 @@ public class PatientDTO {
     private String patientDTOPhotoPath;
 
     private static final String DEFAULT_PHOTO_PATH = "C:\\Users\\nsalazar\\Documents\\therapistapp\\appdata\\default_photo_user.jpg"; 
+    private static final String DEFAULT_PHOTO_KEY = "default_photo_user";
 
     public PatientDTO() {
     }
@@ -173,17 +173,11 @@ public class PatientDTO {
     }  
     
     public Icon getPatientDTOIcon() {
-        ImageIcon original;
-        if (!patientDTOPhotoPath.isEmpty()) {
-            original = new ImageIcon(getPatientDTOPhotoPath());
-        } else {
-            original = new ImageIcon(DEFAULT_PHOTO_PATH);
+        PatientPhotoCache cache = PatientPhotoCache.getInstance();
+        if (patientDTOPhotoPath != null && !patientDTOPhotoPath.isEmpty()) {
+            return cache.getThumbnail(patientDTOId != null ? patientDTOId : patientDTOPhotoPath, patientDTOPhotoPath);
         }
-
-        ImageIcon icon = new ImageIcon(original.getImage()
-                .getScaledInstance(88, 88, Image.SCALE_SMOOTH));
-        
-        return icon;
+        return cache.getThumbnail(DEFAULT_PHOTO_KEY, DEFAULT_PHOTO_PATH);
     }
     
     public String getPatientDTOActualAge() {
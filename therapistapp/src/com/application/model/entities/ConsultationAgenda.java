@@ -0,0 +1,41 @@
+package com.application.model.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConsultationAgenda {
+    private Consultation consultation;
+    private List<Patient> patients;
+
+    public ConsultationAgenda(Consultation consultation) {
+        this.consultation = consultation;
+        this.patients = new ArrayList<>();
+    }
+
+    public ConsultationAgenda(
+            Consultation consultation, 
+            List<Patient> patients) {
+        this.consultation = consultation;
+        this.patients = patients;
+    }
+
+    public Consultation getConsultation() {
+        return consultation;
+    }
+
+    public void setConsultation(Consultation consultation) {
+        this.consultation = consultation;
+    }
+
+    public List<Patient> getPatients() {
+        return patients;
+    }
+
+    public void setPatients(List<Patient> patients) {
+        this.patients = patients;
+    }
+    
+    public void addPatient(Patient patient) {
+        this.patients.add(patient);
+    }
+}
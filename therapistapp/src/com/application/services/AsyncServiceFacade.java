@@ -0,0 +1,85 @@
+package com.application.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachada asíncrona para llamar a los controladores de entidades fuera del EDT.
+ * Cada operación corre en un hilo virtual y devuelve un CompletableFuture que
+ * termina con el resultado de la llamada o con la misma excepción que esta
+ * lanzaría (ValidationException, BusinessException, IOException), de modo que
+ * ningún acceso a la base de datos ni al disco se hace en el EDT.
+ * Para volver a la interfaz con el resultado, usar EdtExecutor.
+ */
+public class AsyncServiceFacade implements AutoCloseable {
+
+    /**
+     * Operación de servicio que puede lanzar excepciones de negocio
+     * @param <T> tipo de resultado
+     */
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Operación de servicio sin resultado
+     */
+    @FunctionalInterface
+    public interface ServiceAction {
+        void run() throws Exception;
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Ejecuta en segundo plano una operación cualquiera
+     * @param <T> tipo de resultado
+     * @param call operación a ejecutar
+     * @return resultado de la operación
+     */
+    public <T> CompletableFuture<T> supply(ServiceCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Ejecuta en segundo plano una operación sin resultado
+     * @param action operación a ejecutar
+     * @return se completa al terminar la operación
+     */
+    public CompletableFuture<Void> run(ServiceAction action) {
+        return supply(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Deja de aceptar operaciones y espera a que terminen las que están en
+     * curso; las que no terminan a tiempo se interrumpen
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.application.services;
+
+import com.application.model.entities.City;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Registro en memoria de las ciudades (datos de referencia que cambian poco).
+ * Mantiene una foto inmutable con un mapa por id y la lista ordenada por nombre;
+ * cada alta, modificación o baja arma una foto nueva y la reemplaza de forma
+ * atómica, de modo que las lecturas no se bloquean ni acceden a la base de datos.
+ */
+public class CityRegistry {
+    private static final Comparator<City> CITY_ORDER = Comparator
+            .comparing(City::getCityName)
+            .thenComparing(City::getCityId);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return true si el registro ya fue cargado
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Reemplaza el contenido del registro
+     * @param cities todas las ciudades del sistema
+     */
+    public synchronized void load(Collection<City> cities) {
+        Map<UUID, City> citiesById = new HashMap<>();
+        for (City city : cities) {
+            citiesById.put(city.getCityId(), copyOf(city));
+        }
+        snapshot = new Snapshot(citiesById);
+    }
+
+    /**
+     * @return ciudades ordenadas por nombre; lista vacía si el registro no fue cargado
+     */
+    public List<City> getAll() {
+        Snapshot current = snapshot;
+        return current != null ? current.sortedCities : Collections.emptyList();
+    }
+
+    /**
+     * @param cityId Identificador de la ciudad
+     * @return la ciudad, si está registrada
+     */
+    public Optional<City> find(UUID cityId) {
+        Snapshot current = snapshot;
+        return current != null ? Optional.ofNullable(current.citiesById.get(cityId)) : Optional.empty();
+    }
+
+    /**
+     * Registra o reemplaza una ciudad. Si el registro aún no fue cargado no hace nada.
+     * @param city ciudad guardada
+     */
+    public synchronized void put(City city) {
+        if (snapshot == null) {
+            return;
+        }
+        Map<UUID, City> citiesById = new HashMap<>(snapshot.citiesById);
+        citiesById.put(city.getCityId(), copyOf(city));
+        snapshot = new Snapshot(citiesById);
+    }
+
+    /**
+     * Quita una ciudad eliminada
+     * @param cityId Identificador de la ciudad
+     */
+    public synchronized void remove(UUID cityId) {
+        if (snapshot == null || !snapshot.citiesById.containsKey(cityId)) {
+            return;
+        }
+        Map<UUID, City> citiesById = new HashMap<>(snapshot.citiesById);
+        citiesById.remove(cityId);
+        snapshot = new Snapshot(citiesById);
+    }
+
+    private static City copyOf(City city) {
+        return new City(city.getCityId(), city.getCityName(), city.getCityZIPCode());
+    }
+
+    /**
+     * Foto inmutable del registro
+     */
+    private static final class Snapshot {
+        private final Map<UUID, City> citiesById;
+        private final List<City> sortedCities;
+
+        private Snapshot(Map<UUID, City> citiesById) {
+            this.citiesById = Collections.unmodifiableMap(citiesById);
+            List<City> sorted = new ArrayList<>(citiesById.values());
+            sorted.sort(CITY_ORDER);
+            this.sortedCities = Collections.unmodifiableList(sorted);
+        }
+    }
+}
@@ -6,34 +6,59 @@ import com.application.exceptions.runtimeExceptions.dataAccessException.Constrai
 import com.application.exceptions.runtimeExceptions.dataAccessException.DataAccessException;
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
 import com.application.model.dao.CityDAO;
+import com.application.model.database.IdGenerator;
 import com.application.model.dto.CityDTO;
 import com.application.model.entities.City;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.sql.DataSource;
 
 public class CityService {
     private final CityDAO cityDAO;
+    private final CityRegistry cityRegistry;
+    private final IdGenerator idGenerator;
 
-    public CityService() {
-        this.cityDAO = new CityDAO();
+    public CityService(DataSource dataSource) {
+        this(dataSource, IdGenerator.DEFAULT);
     }
 
     /**
-     * Obtiene todas las ciudades convertidas a DTO
-     * @return Lista de CityDTO
+     * @param dataSource origen de las conexiones
+     * @param idGenerator generador de los identificadores de las filas nuevas
+     */
+    public CityService(DataSource dataSource, IdGenerator idGenerator) {
+        this.cityDAO = new CityDAO(dataSource);
+        this.cityRegistry = new CityRegistry();
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Carga (o vuelve a cargar) el registro de ciudades en memoria
      * @throws BusinessException Si ocurre un error al acceder a los datos
      */
-    public List<CityDTO> getAllCities() throws BusinessException {
+    public void loadCities() throws BusinessException {
         try {
-            return cityDAO.getAllCities().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            cityRegistry.load(cityDAO.getAllCities());
         } catch (DataAccessException e) {
             throw new BusinessException("Error al obtener el listado de ciudades", e);
         }
     }
 
+    /**
+     * Obtiene todas las ciudades convertidas a DTO, ordenadas por nombre.
+     * Se leen del registro en memoria, que se carga la primera vez si hace falta.
+     * @return Lista de CityDTO
+     * @throws BusinessException Si ocurre un error al acceder a los datos
+     */
+    public List<CityDTO> getAllCities() throws BusinessException {
+        ensureCitiesLoaded();
+        return cityRegistry.getAll().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Inserta una nueva ciudad
      * @param cityDTO Datos de la ciudad a insertar
@@ -45,6 +70,7 @@ public class CityService {
             validateCityData(cityDTO);
             City city = createCityFromDTO(cityDTO);
             cityDAO.insertCity(city);
+            cityRegistry.put(city);
         } catch (ConstraintViolationException e) {
             throw new ValidationException("La ciudad ya existe en el sistema");
         } catch (DataAccessException e) {
@@ -63,6 +89,7 @@ public class CityService {
             validateCityData(cityDTO);
             City city = createCityFromDTO(cityDTO);
             cityDAO.updateCity(city);
+            cityRegistry.put(city);
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe la ciudad con Id '" + cityDTO.getCityId() + "'");
         } catch (ConstraintViolationException e) {
@@ -80,7 +107,9 @@ public class CityService {
     */    
     public void deleteCity(String cityId) throws ValidationException, BusinessException {
         try {
-            cityDAO.deleteCity(UUID.fromString(cityId));
+            UUID cityUUID = UUID.fromString(cityId);
+            cityDAO.deleteCity(cityUUID);
+            cityRegistry.remove(cityUUID);
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe la ciudad con Id '" + cityId + "'");
         } catch (DataAccessException e) {
@@ -89,15 +118,25 @@ public class CityService {
     }
     
     /**
-     * Obtiene el nombre de la ciudad asociado al Id
+     * Obtiene el nombre de la ciudad asociado al Id desde el registro en memoria.
+     * Si la ciudad no está registrada (por ejemplo, fue dada de alta desde otro
+     * puesto) se busca en la base de datos y se agrega al registro.
      * @param cityId
      * @return String
      * @throws @throws ValidationException Si los datos no son válidos o la ciudad no existe
      * @throws BusinessException Si ocurre un error al acceder a los datos
      */
     public String getCityNameById(String cityId) throws ValidationException, BusinessException {
+        ensureCitiesLoaded();
         try {
-            return cityDAO.getCityNameById(UUID.fromString(cityId));
+            UUID cityUUID = UUID.fromString(cityId);
+            Optional<City> registered = cityRegistry.find(cityUUID);
+            if (registered.isPresent()) {
+                return registered.get().getCityName();
+            }
+            City city = cityDAO.getCityById(cityUUID);
+            cityRegistry.put(city);
+            return city.getCityName();
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe la ciudad con Id '" + cityId + "'");
         } catch (DataAccessException e) {
@@ -141,8 +180,13 @@ public class CityService {
     * @param cityDTO Datos de la ciudad a convertir en City
     */
     private City createCityFromDTO(CityDTO cityDTO) {
+        UUID cityId = Optional.ofNullable(cityDTO.getCityId())
+                .filter(s -> !s.isBlank())
+                .map(UUID::fromString)
+                .orElseGet(idGenerator::nextId);
+        
         return new City(
-            UUID.randomUUID(),
+            cityId,
             cityDTO.getCityName().trim().toLowerCase(),
             cityDTO.getCityZIPCode().trim().toLowerCase()
         );
@@ -160,6 +204,12 @@ public class CityService {
         );
     }
     
+    private void ensureCitiesLoaded() throws BusinessException {
+        if (!cityRegistry.isLoaded()) {
+            loadCities();
+        }
+    }
+    
     private boolean isNullOrEmpty(String str) {
         return str == null || str.trim().isEmpty();
     }   
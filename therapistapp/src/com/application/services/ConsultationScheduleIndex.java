@@ -0,0 +1,172 @@
+package com.application.services;
+
+import com.application.model.dao.ConsultationDAO;
+import com.application.model.entities.Consultation;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Índice en memoria de los horarios ocupados por día, usado para detectar
+ * superposiciones entre consultas sin consultar la base de datos en cada validación.
+ * Los días se cargan por mes completo con una única consulta de rango y se
+ * recargan pasado un tiempo, para reflejar cambios hechos desde otros puestos.
+ * La verificación definitiva se hace en SQL al guardar (ver
+ * ConsultationDAO.isOverlappingConsultationExists).
+ */
+public class ConsultationScheduleIndex {
+    private static final long MONTH_TTL_MILLIS = 30_000L;
+
+    private final ConsultationDAO consultationDAO;
+    private final Map<LocalDate, TreeMap<LocalTime, List<Slot>>> slotsByDay = new HashMap<>();
+    private final Map<UUID, Slot> slotsById = new HashMap<>();
+    private final Map<YearMonth, Long> loadedMonths = new HashMap<>();
+
+    public ConsultationScheduleIndex(ConsultationDAO consultationDAO) {
+        this.consultationDAO = consultationDAO;
+    }
+
+    /**
+     * Busca una consulta del mismo día cuyo horario se superponga con el indicado
+     * (start &lt; otherEnd y otherStart &lt; end)
+     * @param date Fecha de la consulta
+     * @param start horario de inicio
+     * @param end horario de fin
+     * @param excludedId Identificador de la propia consulta al modificarla, o null
+     * @return el horario en conflicto, si existe
+     */
+    public synchronized Optional<Slot> findOverlap(LocalDate date, LocalTime start, LocalTime end, UUID excludedId) {
+        ensureMonthLoaded(YearMonth.from(date));
+        TreeMap<LocalTime, List<Slot>> day = slotsByDay.get(date);
+        if (day == null) {
+            return Optional.empty();
+        }
+        // Solo pueden superponerse las consultas que empiezan antes del fin indicado
+        for (List<Slot> slots : day.headMap(end, false).values()) {
+            for (Slot slot : slots) {
+                if (!slot.getConsultationId().equals(excludedId) && start.isBefore(slot.getEnd())) {
+                    return Optional.of(slot);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Registra o reemplaza el horario de una consulta ya guardada
+     * @param consultation Consulta guardada
+     */
+    public synchronized void put(Consultation consultation) {
+        removeSlot(consultation.getConsultationId());
+        if (loadedMonths.containsKey(YearMonth.from(consultation.getConsultationDate()))) {
+            addSlot(new Slot(
+                    consultation.getConsultationId(),
+                    consultation.getConsultationDate(),
+                    consultation.getConsultationStartTime(),
+                    consultation.getConsultationEndTime()));
+        }
+    }
+
+    /**
+     * Quita el horario de una consulta eliminada
+     * @param consultationId Identificador de la consulta
+     */
+    public synchronized void remove(UUID consultationId) {
+        removeSlot(consultationId);
+    }
+
+    /**
+     * Descarta todos los meses cargados
+     */
+    public synchronized void invalidate() {
+        slotsByDay.clear();
+        slotsById.clear();
+        loadedMonths.clear();
+    }
+
+    private void ensureMonthLoaded(YearMonth month) {
+        Long loadedAt = loadedMonths.get(month);
+        if (loadedAt != null && System.currentTimeMillis() - loadedAt < MONTH_TTL_MILLIS) {
+            return;
+        }
+        List<Consultation> consultations = consultationDAO.getConsultationsBetweenDates(month.atDay(1), month.atEndOfMonth());
+
+        for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+            TreeMap<LocalTime, List<Slot>> removed = slotsByDay.remove(day);
+            if (removed != null) {
+                removed.values().forEach(slots -> slots.forEach(slot -> slotsById.remove(slot.getConsultationId())));
+            }
+        }
+        for (Consultation consultation : consultations) {
+            addSlot(new Slot(
+                    consultation.getConsultationId(),
+                    consultation.getConsultationDate(),
+                    consultation.getConsultationStartTime(),
+                    consultation.getConsultationEndTime()));
+        }
+        loadedMonths.put(month, System.currentTimeMillis());
+    }
+
+    private void addSlot(Slot slot) {
+        slotsById.put(slot.getConsultationId(), slot);
+        slotsByDay.computeIfAbsent(slot.getDate(), d -> new TreeMap<>())
+                .computeIfAbsent(slot.getStart(), t -> new ArrayList<>())
+                .add(slot);
+    }
+
+    private void removeSlot(UUID consultationId) {
+        Slot slot = slotsById.remove(consultationId);
+        if (slot == null) {
+            return;
+        }
+        TreeMap<LocalTime, List<Slot>> day = slotsByDay.get(slot.getDate());
+        List<Slot> slots = day.get(slot.getStart());
+        slots.remove(slot);
+        if (slots.isEmpty()) {
+            day.remove(slot.getStart());
+        }
+        if (day.isEmpty()) {
+            slotsByDay.remove(slot.getDate());
+        }
+    }
+
+    /**
+     * Horario ocupado por una consulta
+     */
+    public static final class Slot {
+        private final UUID consultationId;
+        private final LocalDate date;
+        private final LocalTime start;
+        private final LocalTime end;
+
+        private Slot(UUID consultationId, LocalDate date, LocalTime start, LocalTime end) {
+            this.consultationId = consultationId;
+            this.date = date;
+            this.start = start;
+            this.end = end;
+        }
+
+        public UUID getConsultationId() {
+            return consultationId;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public LocalTime getStart() {
+            return start;
+        }
+
+        public LocalTime getEnd() {
+            return end;
+        }
+    }
+}
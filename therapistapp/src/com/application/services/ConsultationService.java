@@ -6,31 +6,56 @@ import com.application.exceptions.runtimeExceptions.dataAccessException.DataAcce
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
 import com.application.model.dao.ConsultationDAO;
 import com.application.model.dao.ConsultationPatientDAO;
+import com.application.model.database.IdGenerator;
+import com.application.model.database.UnitOfWork;
+import com.application.model.dto.ConsultationAgendaDTO;
 import com.application.model.dto.ConsultationDTO;
 import com.application.model.dto.ConsultationPatientDTO;
 import com.application.model.dto.PatientDTO;
 import com.application.model.entities.Consultation;
+import com.application.model.entities.ConsultationAgenda;
 import com.application.model.entities.ConsultationPatient;
 import com.application.model.enumerations.ConsultationStatus;
 import com.application.utils.ConsultationsFilesManager;
+import com.application.utils.PatientsFilesManager;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.sql.DataSource;
 
 public class ConsultationService {
+    private final DataSource dataSource;
     private final ConsultationDAO consultationDAO;
     private final ConsultationPatientDAO consultationPatientDAO;
     private final ConsultationsFilesManager fileManager;
+    private final PatientsFilesManager patientsFileManager;
+    private final ConsultationScheduleIndex scheduleIndex;
+    private final IdGenerator idGenerator;
 
-    public ConsultationService() {
-        this.consultationDAO = new ConsultationDAO();
-        this.consultationPatientDAO = new ConsultationPatientDAO();
+    public ConsultationService(DataSource dataSource) {
+        this(dataSource, IdGenerator.DEFAULT);
+    }
+
+    /**
+     * @param dataSource origen de las conexiones
+     * @param idGenerator generador de los identificadores de las filas nuevas
+     */
+    public ConsultationService(DataSource dataSource, IdGenerator idGenerator) {
+        this.dataSource = dataSource;
+        this.consultationDAO = new ConsultationDAO(dataSource);
+        this.consultationPatientDAO = new ConsultationPatientDAO(dataSource);
         this.fileManager = new ConsultationsFilesManager(); 
+        this.patientsFileManager = new PatientsFilesManager();
+        this.scheduleIndex = new ConsultationScheduleIndex(consultationDAO);
+        this.idGenerator = idGenerator;
     }
     
     /**
@@ -48,12 +73,22 @@ public class ConsultationService {
             
             validateConsultationData(consultationDTO);
             Consultation consultation = createConsultationFromConsultationDTO(consultationDTO);
-            consultationDAO.insertConsultation(consultation);
+            // Los pacientes se asocian al Id generado para la nueva consulta
+            List<ConsultationPatient> consultationPatients = consultationPatientsDTO.stream()
+                    .map(cpdto -> new ConsultationPatient(
+                            consultation.getConsultationId(),
+                            UUID.fromString(cpdto.getPatientId()),
+                            Boolean.valueOf(cpdto.getIsPaid())))
+                    .collect(Collectors.toList());
             
-            for(ConsultationPatientDTO consultationPatientDTO: consultationPatientsDTO) {
-                ConsultationPatient consultationPatient = createConsultationPatientFromConsultationPatientDTO(consultationPatientDTO);
-                consultationPatientDAO.insertConsultationPatient(consultationPatient);
+            // La consulta y sus pacientes se guardan juntos o no se guarda nada
+            try (UnitOfWork unitOfWork = new UnitOfWork(dataSource)) {
+                checkOverlappingConsultation(unitOfWork, consultation);
+                consultationDAO.insertConsultation(unitOfWork, consultation);
+                consultationPatientDAO.insertConsultationPatients(unitOfWork, consultationPatients);
+                unitOfWork.commit();
             }
+            scheduleIndex.put(consultation);
             
             fileManager.initConsultationFolders(consultation.getConsultationId());
             fileManager.createNotesFile(consultation.getConsultationId());
@@ -79,44 +114,23 @@ public class ConsultationService {
             
             validateConsultationData(consultationDTO);
             Consultation consultation = createConsultationFromConsultationDTO(consultationDTO);
-            consultationDAO.updateConsultation(consultation);
-            
             UUID consultationId = consultation.getConsultationId();
 
-            // Pacientes activos actuales
-            List<UUID> existingPatientIds = consultationPatientDAO.getPatientsIdByConsultationId(consultationId);
-
-            // Pacientes recibidos en la nueva lista
-            List<UUID> newPatientIds = consultationPatientsDTO.stream()
-                    .map(cpdto -> UUID.fromString(cpdto.getPatientId()))
-                    .collect(Collectors.toList());
-
-            // 1. Insertar o reactivar pacientes nuevos
+            // Un paciente repetido en la lista se guarda una sola vez
+            Map<UUID, ConsultationPatient> consultationPatients = new LinkedHashMap<>();
             for (ConsultationPatientDTO cpdto : consultationPatientsDTO) {
                 UUID patientId = UUID.fromString(cpdto.getPatientId());
-
-                if (!existingPatientIds.contains(patientId)) {
-                    // Verificar si el paciente estaba borrado lógicamente
-                    if (consultationPatientDAO.existsInactiveConsultationPatient(consultationId, patientId)) {
-                        consultationPatientDAO.reactivateConsultationPatient(consultationId, patientId, Boolean.parseBoolean(cpdto.getIsPaid()));
-                    } else {
-                        ConsultationPatient cp = createConsultationPatientFromConsultationPatientDTO(cpdto);
-                        consultationPatientDAO.insertConsultationPatient(cp);
-                    }
-                } else {
-                    // Ya existe, pero puede haber cambiado el estado de pago
-                    if (Boolean.parseBoolean(cpdto.getIsPaid())) {
-                        consultationPatientDAO.setConsultationPatientIsPaid(consultationId, patientId);
-                    }
-                }
+                consultationPatients.put(patientId, new ConsultationPatient(
+                        consultationId, patientId, Boolean.valueOf(cpdto.getIsPaid())));
             }
 
-            // 2. Eliminar pacientes que ya no están en la nueva lista
-            for (UUID existingId : existingPatientIds) {
-                if (!newPatientIds.contains(existingId)) {
-                    consultationPatientDAO.deleteConsultationPatient(consultationId, existingId);
-                }
+            try (UnitOfWork unitOfWork = new UnitOfWork(dataSource)) {
+                checkOverlappingConsultation(unitOfWork, consultation);
+                consultationDAO.updateConsultation(unitOfWork, consultation);
+                consultationPatientDAO.syncConsultationPatients(unitOfWork, consultationId, new ArrayList<>(consultationPatients.values()));
+                unitOfWork.commit();
             }
+            scheduleIndex.put(consultation);
 
         } catch (DataAccessException e) {
             throw new BusinessException("Error al guardar la consulta en el sistema", e);
@@ -141,6 +155,8 @@ public class ConsultationService {
             
             consultationPatientDAO.deleteAllConsultationPatients(consultationUUID);
             
+            scheduleIndex.remove(consultationUUID);
+            
             fileManager.deleteConsultationFolder(consultationUUID);
             
         } catch (EntityNotFoundException e) {
@@ -192,6 +208,53 @@ public class ConsultationService {
         }
     }
     
+    /**
+     * Obtiene la agenda de un dia determinado: las consultas junto a sus pacientes
+     * @param consultationDate fecha de las consultas a buscar
+     * @return lista de agendas (consulta y pacientes) ordenada por horario de inicio
+     * @throws BusinessException Si ocurre un error durante el proceso
+     */
+    public List<ConsultationAgendaDTO> getConsultationAgendaByDate(String consultationDate) throws BusinessException {
+        try {
+            
+            java.sql.Date sqlDate = java.sql.Date.valueOf(consultationDate);
+
+            return consultationDAO
+                    .getConsultationAgendaByDate(sqlDate)
+                    .stream()
+                    .map(this::createConsultationAgendaDTOFromConsultationAgenda)
+                    .collect(Collectors.toList());
+
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Formato de fecha inválido, debe ser yyyy-MM-dd", e);
+        } catch (DataAccessException e) {
+            throw new BusinessException("Error al obtener la agenda del dia", e);
+        }
+    }
+    
+    /**
+     * Cuenta las consultas de cada día dentro de un rango de fechas
+     * @param fromDate fecha inicial (yyyy-MM-dd)
+     * @param toDate fecha final (yyyy-MM-dd)
+     * @return cantidad de consultas por fecha (yyyy-MM-dd); los días sin consultas no se incluyen
+     * @throws BusinessException Si ocurre un error durante el proceso
+     */
+    public Map<String, Integer> getConsultationCountsBetweenDates(String fromDate, String toDate) throws BusinessException {
+        try {
+            
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            consultationDAO
+                    .getConsultationCountsBetweenDates(LocalDate.parse(fromDate), LocalDate.parse(toDate))
+                    .forEach((date, count) -> counts.put(date.toString(), count));
+            return counts;
+
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Formato de fecha inválido, debe ser yyyy-MM-dd", e);
+        } catch (DataAccessException e) {
+            throw new BusinessException("Error al contar las consultas por dia", e);
+        }
+    }
+    
     /**
      * Abre las notas asociadas a una consulta
      * @param consultationId Identificador de la consulta
@@ -262,22 +325,33 @@ public class ConsultationService {
             throw new ValidationException("El monto de la consulta debe ser mayor a cero");
         }
 
-        // Validar duplicidad de fecha y hora de inicio (ignorando la propia consulta si es update)
+        // Validar superposición con otras consultas del día (ignorando la propia consulta si es update)
         UUID currentId = Optional.ofNullable(consultationDTO.getConsultationDTOId())
                                  .filter(s -> !s.isBlank())
                                  .map(UUID::fromString)
                                  .orElse(null);
 
-        if (currentId != null) {
-            // Validar para update, excluyendo la misma consulta
-            if (consultationDAO.isConsultationStartDatetimeExists(consultationDate, consultationStartTime, currentId)) {
-                throw new ValidationException("Ya existe una consulta en la fecha y hora indicada: " + consultationDate);
-            }
-        } else {
-            // Validar para insert
-            if (consultationDAO.isConsultationStartDatetimeExists(consultationDate, consultationStartTime)) {
-                throw new ValidationException("Ya existe una consulta en la fecha y hora indicada: " + consultationDate);
-            }
+        Optional<ConsultationScheduleIndex.Slot> overlap =
+                scheduleIndex.findOverlap(consultationDate, consultationStartTime, consultationEndTime, currentId);
+        if (overlap.isPresent()) {
+            throw new ValidationException("El horario se superpone con otra consulta de "
+                    + overlap.get().getStart() + " a " + overlap.get().getEnd() + " del " + consultationDate);
+        }
+    }
+    
+    /**
+     * Verifica en la base de datos, dentro de la transacción, que el horario siga libre
+     * al momento de guardar (otro puesto pudo haberlo ocupado después de la validación)
+     */
+    private void checkOverlappingConsultation(UnitOfWork unitOfWork, Consultation consultation) throws ValidationException {
+        if (consultationDAO.isOverlappingConsultationExists(
+                unitOfWork,
+                consultation.getConsultationDate(),
+                consultation.getConsultationStartTime(),
+                consultation.getConsultationEndTime(),
+                consultation.getConsultationId())) {
+            scheduleIndex.invalidate();
+            throw new ValidationException("El horario se superpone con otra consulta del " + consultation.getConsultationDate());
         }
     }
     
@@ -288,7 +362,7 @@ public class ConsultationService {
         UUID consultationId = Optional.ofNullable(consultationDTO.getConsultationDTOId())
                                 .filter(s -> !s.isBlank())
                                 .map(UUID::fromString)
-                                .orElseGet(UUID::randomUUID);
+                                .orElseGet(idGenerator::nextId);
         
         return new Consultation(
             consultationId,
@@ -316,13 +390,14 @@ public class ConsultationService {
     }
     
     /**
-     * Crea un objeto ConsultationPatient a partir de un ConsultationPatientDTO
+     * Crea un objeto ConsultationAgendaDTO a partir de un ConsultationAgenda
      */
-    private ConsultationPatient createConsultationPatientFromConsultationPatientDTO(ConsultationPatientDTO dto) {
-        return new ConsultationPatient(
-            UUID.fromString(dto.getConsultationId()),
-            UUID.fromString(dto.getPatientId()),
-            Boolean.valueOf(dto.getIsPaid())
+    private ConsultationAgendaDTO createConsultationAgendaDTOFromConsultationAgenda(ConsultationAgenda agenda) {
+        return new ConsultationAgendaDTO(
+            createConsultationDTOFromConsultation(agenda.getConsultation()),
+            agenda.getPatients().stream()
+                    .map(patient -> PatientService.createPatientDTOFromPatient(patient, patientsFileManager))
+                    .collect(Collectors.toList())
         );
     }
     
@@ -0,0 +1,234 @@
+package com.application.services;
+
+import com.application.model.dto.PatientDTO;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Caché acotada de pacientes por id con lectura a través (read-through):
+ * si el paciente no está en memoria se obtiene con el cargador indicado y se
+ * guarda, descartando el menos usado recientemente al superar la capacidad.
+ * Guarda el DTO ya armado (incluida la ruta de la foto) y entrega copias, para
+ * que los cambios que haga la vista no alteren la caché. Las estadísticas
+ * pueden publicarse por JMX junto a las de las sentencias de los DAO.
+ */
+public class PatientCache implements PatientCacheMXBean {
+    private static final Logger LOGGER = Logger.getLogger(PatientCache.class.getName());
+    private static final String JMX_NAME = "com.application:type=PatientCache";
+
+    private final int maxEntries;
+    private final Map<UUID, PatientDTO> patientsById;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    // Se incrementa en cada invalidación; evita guardar una lectura iniciada antes de un cambio
+    private long version;
+    private volatile boolean published;
+
+    /**
+     * @param maxEntries cantidad máxima de pacientes en memoria
+     */
+    public PatientCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.patientsById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PatientDTO> eldest) {
+                if (size() > PatientCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el paciente de la caché o, si no está, lo carga y lo guarda
+     * @param patientId Identificador del paciente
+     * @param loader obtiene el paciente desde la base de datos
+     * @return copia del paciente
+     */
+    public PatientDTO get(UUID patientId, Function<UUID, PatientDTO> loader) {
+        long loadVersion;
+        synchronized (this) {
+            PatientDTO cached = patientsById.get(patientId);
+            if (cached != null) {
+                hits++;
+                return copyOf(cached);
+            }
+            misses++;
+            loadVersion = version;
+        }
+        // La lectura se hace fuera del bloqueo para no frenar a otros hilos
+        PatientDTO loaded = loader.apply(patientId);
+        synchronized (this) {
+            if (loadVersion == version) {
+                patientsById.put(patientId, copyOf(loaded));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Obtiene varios pacientes: los que están en la caché se copian y los
+     * restantes se piden juntos al cargador y se guardan
+     * @param patientIds Identificadores de los pacientes
+     * @param loader obtiene de una vez los pacientes que faltan
+     * @return Mapa id → copia del paciente, en el orden de los ids; los ids que el cargador no devuelve no se incluyen
+     */
+    public Map<UUID, PatientDTO> getAll(Collection<UUID> patientIds, Function<Collection<UUID>, Map<UUID, PatientDTO>> loader) {
+        Map<UUID, PatientDTO> result = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        long loadVersion;
+        synchronized (this) {
+            for (UUID patientId : patientIds) {
+                if (result.containsKey(patientId)) {
+                    continue;
+                }
+                PatientDTO cached = patientsById.get(patientId);
+                if (cached != null) {
+                    hits++;
+                    result.put(patientId, copyOf(cached));
+                } else {
+                    misses++;
+                    result.put(patientId, null);
+                    missing.add(patientId);
+                }
+            }
+            loadVersion = version;
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, PatientDTO> loaded = loader.apply(missing);
+            synchronized (this) {
+                for (UUID patientId : missing) {
+                    PatientDTO patientDTO = loaded.get(patientId);
+                    if (patientDTO != null && loadVersion == version) {
+                        patientsById.put(patientId, copyOf(patientDTO));
+                    }
+                    result.put(patientId, patientDTO);
+                }
+            }
+        }
+        result.values().removeIf(patientDTO -> patientDTO == null);
+        return result;
+    }
+
+    /**
+     * Descarta un paciente (por ejemplo, luego de modificarlo o eliminarlo)
+     * @param patientId Identificador del paciente
+     */
+    public synchronized void invalidate(UUID patientId) {
+        version++;
+        patientsById.remove(patientId);
+    }
+
+    /**
+     * Descarta todos los pacientes en memoria
+     */
+    public synchronized void clear() {
+        version++;
+        patientsById.clear();
+    }
+
+    /**
+     * Publica las estadísticas en el MBeanServer de la plataforma
+     */
+    public void publish() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                published = true;
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "No se pudo publicar por JMX la caché de pacientes", e);
+        }
+    }
+
+    /**
+     * Quita las estadísticas del MBeanServer si esta caché es la publicada
+     */
+    public void unpublish() {
+        if (!published) {
+            return;
+        }
+        published = false;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "No se pudo quitar el MBean de la caché de pacientes", e);
+        }
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return patientsById.size();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("PatientCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.2f]",
+                patientsById.size(), maxEntries, hits, misses, evictions, getHitRatio());
+    }
+
+    private static PatientDTO copyOf(PatientDTO dto) {
+        return new PatientDTO(
+                dto.getPatientDTOId(),
+                dto.getPatientDTODNI(),
+                dto.getPatientDTOName(),
+                dto.getPatientDTOLastName(),
+                dto.getPatientDTOBirthDate(),
+                dto.getPatienDTOOccupation(),
+                dto.getPatientDTOPhone(),
+                dto.getPatientDTOEmail(),
+                dto.getCityId(),
+                dto.getPatientDTOAddress(),
+                dto.getPatientDTOAddressNumber(),
+                dto.getPatientDTOAddressFloor(),
+                dto.getPatientDTOAddressDepartment(),
+                dto.getPatientDTOPhotoPath());
+    }
+}
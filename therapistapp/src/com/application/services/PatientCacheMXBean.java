@@ -0,0 +1,38 @@
+package com.application.services;
+
+/**
+ * Estadísticas de la caché de pacientes publicadas por JMX
+ * (com.application:type=PatientCache)
+ */
+public interface PatientCacheMXBean {
+
+    /**
+     * @return pacientes en memoria
+     */
+    int getSize();
+
+    /**
+     * @return cantidad máxima de pacientes en memoria
+     */
+    int getMaxEntries();
+
+    /**
+     * @return lecturas resueltas en memoria
+     */
+    long getHitCount();
+
+    /**
+     * @return lecturas que necesitaron ir a la base de datos
+     */
+    long getMissCount();
+
+    /**
+     * @return pacientes descartados por superar la capacidad
+     */
+    long getEvictionCount();
+
+    /**
+     * @return proporción de lecturas resueltas en memoria, entre 0 y 1
+     */
+    double getHitRatio();
+}
@@ -0,0 +1,223 @@
+package com.application.services;
+
+import com.application.model.dto.PatientDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de búsqueda de pacientes residente en memoria.
+ * Indexa n-gramas (de 1 a 3 caracteres) del nombre, apellido, DNI y email
+ * normalizados, de modo que una búsqueda por subcadena solo verifica los
+ * candidatos que comparten todos los n-gramas del término buscado.
+ */
+public class PatientSearchIndex {
+    private static final int MAX_GRAM_LENGTH = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<PatientDTO> PATIENT_ORDER = Comparator
+            .comparing((PatientDTO p) -> normalize(p.getPatientDTOLastName()))
+            .thenComparing(p -> normalize(p.getPatientDTOName()))
+            .thenComparing(PatientDTO::getPatientDTOId);
+
+    private final Map<String, IndexedPatient> patientsById = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded = false;
+
+    /**
+     * @return true si el índice ya fue construido
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Reconstruye el índice completo a partir de la lista de pacientes
+     * @param patientsDTO pacientes activos del sistema
+     */
+    public void rebuild(Collection<PatientDTO> patientsDTO) {
+        lock.writeLock().lock();
+        try {
+            patientsById.clear();
+            postings.clear();
+            for (PatientDTO patientDTO : patientsDTO) {
+                addInternal(patientDTO);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega o reemplaza un paciente en el índice
+     * @param patientDTO paciente a indexar
+     */
+    public void put(PatientDTO patientDTO) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(patientDTO.getPatientDTOId());
+            addInternal(patientDTO);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un paciente del índice
+     * @param patientId Identificador del paciente
+     */
+    public void remove(String patientId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(patientId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los pacientes cuyo nombre, apellido, DNI o email contengan el término
+     * @param term término de búsqueda (se ignoran mayúsculas y acentos)
+     * @return pacientes coincidentes ordenados por apellido y nombre
+     */
+    public List<PatientDTO> search(String term) {
+        String query = normalize(term);
+
+        lock.readLock().lock();
+        try {
+            List<PatientDTO> result = new ArrayList<>();
+            if (query.isEmpty()) {
+                for (IndexedPatient indexed : patientsById.values()) {
+                    result.add(indexed.patientDTO);
+                }
+            } else {
+                for (String patientId : findCandidates(query)) {
+                    IndexedPatient indexed = patientsById.get(patientId);
+                    if (indexed != null && indexed.matches(query)) {
+                        result.add(indexed.patientDTO);
+                    }
+                }
+            }
+            result.sort(PATIENT_ORDER);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Interseca las listas de los n-gramas del término comenzando por la más corta
+     */
+    private Set<String> findCandidates(String query) {
+        int gramLength = Math.min(MAX_GRAM_LENGTH, query.length());
+        List<Set<String>> sets = new ArrayList<>();
+        for (String gram : grams(query, gramLength)) {
+            Set<String> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            sets.add(posting);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> candidates = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(sets.get(i));
+        }
+        return candidates;
+    }
+
+    private void addInternal(PatientDTO patientDTO) {
+        IndexedPatient indexed = new IndexedPatient(patientDTO);
+        patientsById.put(patientDTO.getPatientDTOId(), indexed);
+        for (String gram : indexed.grams()) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(patientDTO.getPatientDTOId());
+        }
+    }
+
+    private void removeInternal(String patientId) {
+        IndexedPatient indexed = patientsById.remove(patientId);
+        if (indexed == null) {
+            return;
+        }
+        for (String gram : indexed.grams()) {
+            Set<String> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(patientId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Genera los n-gramas de longitud exacta del texto
+     */
+    private static Set<String> grams(String text, int length) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + length <= text.length(); i++) {
+            result.add(text.substring(i, i + length));
+        }
+        return result;
+    }
+
+    /**
+     * Pasa a minúsculas, quita acentos y espacios sobrantes
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim().toLowerCase(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("");
+    }
+
+    /**
+     * Paciente indexado con sus campos de búsqueda ya normalizados
+     */
+    private static final class IndexedPatient {
+        private final PatientDTO patientDTO;
+        private final String[] fields;
+
+        private IndexedPatient(PatientDTO patientDTO) {
+            this.patientDTO = patientDTO;
+            this.fields = new String[]{
+                normalize(patientDTO.getPatientDTOName()),
+                normalize(patientDTO.getPatientDTOLastName()),
+                normalize(patientDTO.getPatientDTODNI()),
+                normalize(patientDTO.getPatientDTOEmail())
+            };
+        }
+
+        private boolean matches(String query) {
+            for (String field : fields) {
+                if (field.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<String> grams() {
+            Set<String> result = new HashSet<>();
+            for (String field : fields) {
+                for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+                    result.addAll(PatientSearchIndex.grams(field, length));
+                }
+            }
+            return result;
+        }
+    }
+}
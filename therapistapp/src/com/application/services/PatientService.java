@@ -7,6 +7,7 @@ import com.application.exceptions.runtimeExceptions.dataAccessException.DataAcce
 import com.application.exceptions.runtimeExceptions.dataAccessException.EntityNotFoundException;
 import com.application.model.dao.ConsultationPatientDAO;
 import com.application.model.dao.PatientDAO;
+import com.application.model.database.IdGenerator;
 import com.application.model.dto.ConsultationPatientDTO;
 import com.application.model.dto.PatientDTO;
 import com.application.model.entities.ConsultationPatient;
@@ -16,16 +17,25 @@ import java.io.IOException;
 import java.nio.file.Path;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import javax.sql.DataSource;
 
 public class PatientService {
     private final PatientDAO patientDAO;
     private final ConsultationPatientDAO consultationPatientDAO;
     private final PatientsFilesManager fileManager;
+    private final PatientSearchIndex searchIndex;
+    private final PatientCache patientCache;
+    private final IdGenerator idGenerator;
+    
+    private static final int PATIENT_CACHE_SIZE = 512;
     
     // Patron simple para validar e-mail (puede ajustarse si se requiere más estricto)
     private static final Pattern EMAIL_PATTERN =
@@ -35,10 +45,21 @@ public class PatientService {
     private static final Pattern PHONE_PATTERN =
         Pattern.compile("^\\+?\\d{7,15}$");
     
-    public PatientService() {
-        this.patientDAO = new PatientDAO();
-        this.consultationPatientDAO = new ConsultationPatientDAO();
+    public PatientService(DataSource dataSource) {
+        this(dataSource, IdGenerator.DEFAULT);
+    }
+
+    /**
+     * @param dataSource origen de las conexiones
+     * @param idGenerator generador de los identificadores de las filas nuevas
+     */
+    public PatientService(DataSource dataSource, IdGenerator idGenerator) {
+        this.patientDAO = new PatientDAO(dataSource);
+        this.consultationPatientDAO = new ConsultationPatientDAO(dataSource);
         this.fileManager = new PatientsFilesManager(); 
+        this.searchIndex = new PatientSearchIndex();
+        this.patientCache = new PatientCache(PATIENT_CACHE_SIZE);
+        this.idGenerator = idGenerator;
     }
     
     /**
@@ -48,14 +69,68 @@ public class PatientService {
      */
     public List<PatientDTO> getAllPatients() throws BusinessException {
         try {
-            return patientDAO.getAllPatients().stream()
-                    .map(this::createPatientDTOFromPatient)
+            List<PatientDTO> patientsDTO = patientDAO.getAllPatients().stream()
+                    .map(patient -> createPatientDTOFromPatient(patient, fileManager))
                     .collect(Collectors.toList());
+            if (!searchIndex.isLoaded()) {
+                searchIndex.rebuild(patientsDTO);
+            }
+            return patientsDTO;
         } catch (DataAccessException e) {
             throw new BusinessException("Error al listar pacientes", e);
         }
     }
 
+    /**
+     * Cuenta los pacientes activos
+     * @return cantidad de pacientes
+     * @throws BusinessException Si ocurre un error al acceder a los datos
+     */
+    public int countPatients() throws BusinessException {
+        try {
+            return patientDAO.countPatients();
+        } catch (DataAccessException e) {
+            throw new BusinessException("Error al contar pacientes", e);
+        }
+    }
+
+    /**
+     * Obtiene una página de pacientes ordenada por apellido e id
+     * @param afterLastName apellido del último paciente de la página anterior (null para la primera)
+     * @param afterPatientId id del último paciente de la página anterior (null para la primera)
+     * @param offset filas a saltear a partir de la clave
+     * @param limit tamaño de la página
+     * @return Lista de PatientDTO
+     * @throws BusinessException Si ocurre un error al acceder a los datos
+     */
+    public List<PatientDTO> getPatientsPage(String afterLastName, String afterPatientId, int offset, int limit) throws BusinessException {
+        try {
+            UUID afterId = afterPatientId != null ? UUID.fromString(afterPatientId) : null;
+            return patientDAO.getPatientsPage(afterLastName, afterId, offset, limit).stream()
+                    .map(patient -> createPatientDTOFromPatient(patient, fileManager))
+                    .collect(Collectors.toList());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Id de paciente mal formado", e);
+        } catch (DataAccessException e) {
+            throw new BusinessException("Error al listar pacientes", e);
+        }
+    }
+
+    /**
+     * Busca pacientes por nombre, apellido, DNI o email usando el índice en memoria.
+     * El índice se construye en la primera búsqueda y luego se mantiene al
+     * insertar, modificar o eliminar pacientes.
+     * @param term término de búsqueda
+     * @return Lista de PatientDTO ordenada por apellido y nombre
+     * @throws BusinessException Si ocurre un error al construir el índice
+     */
+    public List<PatientDTO> searchPatients(String term) throws BusinessException {
+        if (!searchIndex.isLoaded()) {
+            getAllPatients();
+        }
+        return searchIndex.search(term);
+    }
+
     /**
      * Inserta un nuevo paciente
      * @param patientDTO Datos del paciente a insertar
@@ -70,6 +145,8 @@ public class PatientService {
             patientDAO.insertPatient(patient);
             fileManager.initPatientFolders(patient.getPatientId());
             movePatientPhotoIfExists(patientDTO, patient.getPatientId());
+            patientCache.invalidate(patient.getPatientId());
+            searchIndex.put(createPatientDTOFromPatient(patient, fileManager));
         } catch (ConstraintViolationException e) {
             throw new ValidationException("Ya existe un paciente con ese " + e.getField());
         } catch (DataAccessException e) {
@@ -90,6 +167,8 @@ public class PatientService {
             Patient patient = createPatientFromPatientDTO(patientDTO);
             patientDAO.updatePatient(patient);
             managePatientPhoto(patientDTO, patient.getPatientId());
+            patientCache.invalidate(patient.getPatientId());
+            searchIndex.put(createPatientDTOFromPatient(patient, fileManager));
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe paciente con Id '" + patientDTO.getPatientDTOId() + "'");
         } catch (ConstraintViolationException e) {
@@ -110,6 +189,8 @@ public class PatientService {
             UUID patientUUID = UUID.fromString(patientId);
             patientDAO.deletePatient(patientUUID);
             consultationPatientDAO.deletePatientFromAllConsultation(patientUUID);
+            patientCache.invalidate(patientUUID);
+            searchIndex.remove(patientUUID.toString());
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe paciente con Id '" + patientId + "'");
         } catch (DataAccessException e) {
@@ -118,7 +199,8 @@ public class PatientService {
     }
 
     /**
-     * Obtiene el paciente en base a un dni
+     * Obtiene el paciente en base a su id. Los pacientes leídos se mantienen en
+     * una caché acotada hasta que se modifican o eliminan.
      * @param patientId del paciente a buscar
      * @return PatientDTO 
      * @throws ValidationException Si los datos no son válidos o el paciente no existe
@@ -126,8 +208,8 @@ public class PatientService {
      */
     public PatientDTO getPatientById(String patientId) throws ValidationException, BusinessException {
         try {
-            Patient patient = patientDAO.getPatientById(UUID.fromString(patientId));
-            return createPatientDTOFromPatient(patient);
+            return patientCache.get(UUID.fromString(patientId),
+                    id -> createPatientDTOFromPatient(patientDAO.getPatientById(id), fileManager));
         } catch (EntityNotFoundException e) {
             throw new ValidationException("No existe paciente con Id '" + patientId + "'");
         } catch (DataAccessException e) {
@@ -135,6 +217,35 @@ public class PatientService {
         }
     }
     
+    /**
+     * Obtiene varios pacientes por sus ids. Los que no están en la caché se
+     * buscan juntos con una única consulta (por bloques de ids).
+     * @param patientIds ids de los pacientes a buscar
+     * @return Mapa id → PatientDTO en el orden de los ids; los pacientes inexistentes no se incluyen
+     * @throws BusinessException Si algún id está mal formado o ocurre un error al acceder a los datos
+     */
+    public Map<String, PatientDTO> getPatientsByIds(Collection<String> patientIds) throws BusinessException {
+        try {
+            List<UUID> ids = patientIds.stream().map(UUID::fromString).collect(Collectors.toList());
+            Map<String, PatientDTO> patientsDTO = new LinkedHashMap<>();
+            patientCache.getAll(ids, missing -> patientDAO.getPatientsByIds(missing).values().stream()
+                    .collect(Collectors.toMap(Patient::getPatientId, patient -> createPatientDTOFromPatient(patient, fileManager))))
+                    .forEach((id, patientDTO) -> patientsDTO.put(id.toString(), patientDTO));
+            return patientsDTO;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Id de paciente mal formado", e);
+        } catch (DataAccessException e) {
+            throw new BusinessException("Error al buscar pacientes", e);
+        }
+    }
+
+    /**
+     * @return caché de pacientes, para publicar y registrar sus estadísticas (aciertos, fallos y descartes)
+     */
+    public PatientCache getPatientCache() {
+        return patientCache;
+    }
+    
     /**
      * Obtiene los pacientes de una consulta determinada
      * @param consultationId
@@ -236,7 +347,7 @@ public class PatientService {
         UUID patientId = Optional.ofNullable(patientDTO.getPatientDTOId())
                 .filter(s -> !s.isBlank())
                 .map(UUID::fromString)
-                .orElseGet(UUID::randomUUID);
+                .orElseGet(idGenerator::nextId);
         
         return new Patient(
                 patientId,
@@ -257,9 +368,12 @@ public class PatientService {
     }
 
     /**
-     * Crea un objeto PatientDTO a partir de un Patient
+     * Crea un objeto PatientDTO a partir de un Patient. Lo comparte
+     * ConsultationService para los pacientes de la agenda
+     * @param patient paciente a convertir
+     * @param fileManager archivos de los pacientes, para ubicar la foto
      */
-    private PatientDTO createPatientDTOFromPatient(Patient patient) {
+    static PatientDTO createPatientDTOFromPatient(Patient patient, PatientsFilesManager fileManager) {
         PatientDTO dto = new PatientDTO();
         dto.setPatientDTOId(patient.getPatientId().toString());
         dto.setPatientDTODNI(patient.getPatientDNI());
@@ -282,17 +396,6 @@ public class PatientService {
         return dto;
     }
     
-    /**
-     * Crea un objeto ConsultationPatient a partir de un ConsultationPatientDTO
-     */
-    private ConsultationPatient createConsultationPatientFromConsultationPatientDTO(ConsultationPatientDTO dto) {
-        return new ConsultationPatient(
-            UUID.fromString(dto.getConsultationId()),
-            UUID.fromString(dto.getPatientId()),
-            Boolean.valueOf(dto.getIsPaid())
-        );
-    }
-    
     /**
      * Crea un objeto ConsultationPatientDTO a partir de un ConsultationPatient
      */
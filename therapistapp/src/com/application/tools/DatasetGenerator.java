@@ -0,0 +1,498 @@
+package com.application.tools;
+
+import com.application.model.dao.CityDAO;
+import com.application.model.dao.ConsultationDAO;
+import com.application.model.dao.ConsultationPatientDAO;
+import com.application.model.dao.PatientDAO;
+import com.application.model.database.ConnectionPool;
+import com.application.model.database.UnitOfWork;
+import com.application.model.entities.City;
+import com.application.model.entities.Consultation;
+import com.application.model.entities.ConsultationPatient;
+import com.application.model.entities.Patient;
+import com.application.model.enumerations.ConsultationStatus;
+import com.application.utils.ConsultationsFilesManager;
+import com.application.utils.PatientsFilesManager;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+
+/**
+ * Generador de datos de prueba para medir la aplicación con volúmenes reales.
+ * Llena tbl_city, tbl_patient, tbl_consultation y tbl_consultation_patient con
+ * inserciones por lotes repartidas entre varios hilos, y crea las fotos de los
+ * pacientes y las notas de las consultas con la misma estructura de carpetas
+ * que usa la aplicación.
+ *
+ * Los datos dependen solo de la semilla: cada lote usa su propio generador
+ * aleatorio derivado de la semilla y del número de lote, así que el resultado
+ * no cambia con la cantidad de hilos ni con el orden en que terminan.
+ * Debe ejecutarse sobre una base recién creada con therapist_db.sql.
+ *
+ * Uso: ant generate-dataset -Ddataset.args="--patients 100000 --consultations 2000000"
+ */
+public class DatasetGenerator {
+    private static final Logger LOGGER = Logger.getLogger(DatasetGenerator.class.getName());
+
+    // El DNI es FIRST_DNI + número de paciente y debe tener 8 dígitos
+    static final int MAX_PATIENTS = 89_999_999;
+    private static final int FIRST_DNI = 10_000_000;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_SESSION_MINUTES = 60;
+    private static final int WORKDAY_START_MINUTE = 8 * 60;
+    private static final int SCHEDULED_MONTHS = 1;
+
+    private static final LocalDate OLDEST_BIRTH_DATE = LocalDate.of(1940, 1, 1);
+    private static final int BIRTH_DATE_RANGE_DAYS = 75 * 365;
+
+    private static final int PHOTO_TEMPLATES = 8;
+    private static final int PHOTO_SIZE = 400;
+
+    // Sales para que cada tabla use una secuencia aleatoria distinta
+    private static final long CITY_SALT = 1;
+    private static final long PATIENT_SALT = 2;
+    private static final long CONSULTATION_SALT = 3;
+
+    private static final double[] AMOUNTS = {15000, 18000, 20000, 22500, 25000, 30000};
+
+    private static final String[] CITY_NAMES = {
+        "Buenos Aires", "Córdoba", "Rosario", "Mendoza", "La Plata", "Mar del Plata", "Tucumán", "Salta",
+        "Santa Fe", "San Juan", "Resistencia", "Neuquén", "Corrientes", "Posadas", "Bahía Blanca", "Paraná",
+        "San Luis", "Río Cuarto", "Tandil", "Ushuaia", "Viedma", "Rawson", "Formosa", "Santa Rosa"
+    };
+    private static final String[] NAMES = {
+        "Juan", "María", "José", "Lucía", "Martín", "Sofía", "Diego", "Valentina", "Nicolás", "Camila",
+        "Matías", "Florencia", "Agustín", "Julieta", "Tomás", "Milagros", "Federico", "Carolina",
+        "Santiago", "Paula", "Ignacio", "Victoria", "Joaquín", "Agustina", "Facundo", "Rocío"
+    };
+    private static final String[] LAST_NAMES = {
+        "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez", "García",
+        "Sánchez", "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez", "Flores", "Benítez",
+        "Acosta", "Medina", "Herrera", "Suárez", "Aguirre", "Giménez", "Gutiérrez", "Pereyra"
+    };
+    private static final String[] OCCUPATIONS = {
+        "Docente", "Abogado", "Estudiante", "Médica", "Comerciante", "Ingeniero", "Contadora",
+        "Enfermero", "Jubilada", "Empleado administrativo", "Diseñadora", "Programador"
+    };
+    private static final String[] STREETS = {
+        "San Martín", "Belgrano", "Rivadavia", "Sarmiento", "Mitre", "Moreno", "Urquiza", "Güemes",
+        "Av. Libertador", "9 de Julio", "25 de Mayo", "Independencia", "Colón", "Alem", "Pueyrredón"
+    };
+
+    /**
+     * Inserción de un lote de filas
+     */
+    @FunctionalInterface
+    private interface ChunkTask {
+        /**
+         * @param random generador aleatorio propio del lote
+         * @param from primera fila del lote (inclusive)
+         * @param to última fila del lote (exclusive)
+         * @return filas insertadas
+         * @throws Exception si falla la inserción o la creación de archivos
+         */
+        int run(SplittableRandom random, int from, int to) throws Exception;
+    }
+
+    private final DatasetOptions options;
+    private final DataSource dataSource;
+    private final CityDAO cityDAO;
+    private final PatientDAO patientDAO;
+    private final ConsultationDAO consultationDAO;
+    private final ConsultationPatientDAO consultationPatientDAO;
+    private final PatientsFilesManager patientsFilesManager;
+    private final ConsultationsFilesManager consultationsFilesManager;
+
+    public DatasetGenerator(DatasetOptions options, DataSource dataSource) {
+        this.options = options;
+        this.dataSource = dataSource;
+        this.cityDAO = new CityDAO(dataSource);
+        this.patientDAO = new PatientDAO(dataSource);
+        this.consultationDAO = new ConsultationDAO(dataSource);
+        this.consultationPatientDAO = new ConsultationPatientDAO(dataSource);
+        if (options.filesDir != null) {
+            this.patientsFilesManager = new PatientsFilesManager(options.filesDir.resolve("patients").toString());
+            this.consultationsFilesManager = new ConsultationsFilesManager(options.filesDir.resolve("consultations").toString());
+        } else {
+            this.patientsFilesManager = new PatientsFilesManager();
+            this.consultationsFilesManager = new ConsultationsFilesManager();
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        DatasetOptions options;
+        try {
+            options = DatasetOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DatasetOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(DatasetOptions.USAGE);
+            return;
+        }
+
+        // Una conexión por hilo de inserción
+        try (ConnectionPool connectionPool = new ConnectionPool(options.threads)) {
+            new DatasetGenerator(options, connectionPool).generate();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "No se pudo generar el conjunto de datos", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Genera ciudades, pacientes y consultas, en ese orden
+     * @throws Exception si falla alguna inserción o la creación de archivos
+     */
+    public void generate() throws Exception {
+        LOGGER.log(Level.INFO, "Generando datos de prueba: {0}", options);
+        long start = System.nanoTime();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path photoTemplates = options.files && options.photoRatio > 0 ? createPhotoTemplates(options.seed) : null;
+        try {
+            UUID[] cityIds = generateCities(executor);
+            UUID[] patientIds = generatePatients(executor, cityIds, photoTemplates);
+            generateConsultations(executor, patientIds);
+        } finally {
+            executor.shutdownNow();
+            if (photoTemplates != null) {
+                deleteDirectory(photoTemplates);
+            }
+        }
+        LOGGER.log(Level.INFO, "Datos de prueba generados en {0} s",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private UUID[] generateCities(ExecutorService executor) throws Exception {
+        UUID[] cityIds = new UUID[options.cities];
+        runInChunks(executor, "tbl_city", CITY_SALT, options.cities, (random, from, to) -> {
+            List<City> cities = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                cityIds[i] = randomUUID(random);
+                cities.add(new City(cityIds[i], cityName(i), String.valueOf(1000 + random.nextInt(9000))));
+            }
+            inTransaction(unitOfWork -> cityDAO.insertCities(unitOfWork, cities));
+            return cities.size();
+        });
+        return cityIds;
+    }
+
+    private UUID[] generatePatients(ExecutorService executor, UUID[] cityIds, Path photoTemplates) throws Exception {
+        UUID[] patientIds = new UUID[options.patients];
+        runInChunks(executor, "tbl_patient", PATIENT_SALT, options.patients, (random, from, to) -> {
+            List<Patient> patients = new ArrayList<>(to - from);
+            List<Path> photos = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String name = pick(random, NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                boolean apartment = random.nextInt(100) < 30;
+                patientIds[i] = randomUUID(random);
+                patients.add(new Patient(
+                        patientIds[i],
+                        String.format("%08d", FIRST_DNI + i),
+                        name,
+                        lastName,
+                        OLDEST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_RANGE_DAYS)),
+                        pick(random, OCCUPATIONS),
+                        "11" + (40_000_000 + random.nextInt(10_000_000)),
+                        email(name, lastName, i),
+                        cityIds[random.nextInt(cityIds.length)],
+                        pick(random, STREETS),
+                        1 + random.nextInt(5000),
+                        apartment ? random.nextInt(20) : -1,
+                        apartment ? String.valueOf((char) ('A' + random.nextInt(8))) : null));
+
+                // Se sortea siempre, para que las filas no dependan de si se generan archivos
+                boolean hasPhoto = random.nextDouble() < options.photoRatio;
+                int template = random.nextInt(PHOTO_TEMPLATES);
+                photos.add(photoTemplates != null && hasPhoto ? photoTemplates.resolve(photoName(template)) : null);
+            }
+            inTransaction(unitOfWork -> patientDAO.insertPatients(unitOfWork, patients));
+
+            for (int i = 0; i < patients.size(); i++) {
+                if (photos.get(i) != null) {
+                    UUID patientId = patients.get(i).getPatientId();
+                    patientsFilesManager.initPatientFolders(patientId);
+                    patientsFilesManager.copyPhotoToPatientDir(patientId, photos.get(i));
+                }
+            }
+            return patients.size();
+        });
+        return patientIds;
+    }
+
+    private void generateConsultations(ExecutorService executor, UUID[] patientIds) throws Exception {
+        Schedule schedule = new Schedule(options.from, options.years, options.consultations);
+        LocalDate scheduledFrom = schedule.end().minusMonths(SCHEDULED_MONTHS);
+        LOGGER.log(Level.INFO, "Consultas de {0} minutos, hasta {1} por día, entre {2} y {3}",
+                new Object[]{schedule.sessionMinutes, schedule.perDay, options.from, schedule.end().minusDays(1)});
+
+        runInChunks(executor, "tbl_consultation", CONSULTATION_SALT, options.consultations, (random, from, to) -> {
+            List<Consultation> consultations = new ArrayList<>(to - from);
+            List<ConsultationPatient> consultationPatients = new ArrayList<>(to - from);
+            List<UUID> withNotes = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                LocalDate date = schedule.dateOf(i);
+                LocalTime startTime = schedule.startTimeOf(i);
+                ConsultationStatus status;
+                if (!date.isBefore(scheduledFrom)) {
+                    status = ConsultationStatus.SCHEDULED;
+                } else {
+                    status = random.nextInt(10) == 0 ? ConsultationStatus.CANCELLED : ConsultationStatus.COMPLETED;
+                }
+                UUID consultationId = randomUUID(random);
+                consultations.add(new Consultation(
+                        consultationId,
+                        date,
+                        startTime,
+                        startTime.plusMinutes(schedule.sessionMinutes),
+                        AMOUNTS[random.nextInt(AMOUNTS.length)],
+                        status));
+
+                for (UUID patientId : pickPatients(random, patientIds)) {
+                    boolean isPaid = status == ConsultationStatus.COMPLETED && random.nextInt(100) < 85;
+                    consultationPatients.add(new ConsultationPatient(consultationId, patientId, isPaid));
+                }
+                if (random.nextDouble() < options.notesRatio) {
+                    withNotes.add(consultationId);
+                }
+            }
+            inTransaction(unitOfWork -> {
+                consultationDAO.insertConsultations(unitOfWork, consultations);
+                consultationPatientDAO.insertConsultationPatients(unitOfWork, consultationPatients);
+            });
+
+            if (options.files) {
+                for (UUID consultationId : withNotes) {
+                    consultationsFilesManager.initConsultationFolders(consultationId);
+                    if (consultationsFilesManager.getConsultationNotes(consultationId) == null) {
+                        consultationsFilesManager.createNotesFile(consultationId);
+                    }
+                }
+            }
+            return consultations.size();
+        });
+    }
+
+    /**
+     * Reparte las filas en lotes de options.batchSize, los inserta en paralelo
+     * y espera a que terminen todos. Si un lote falla se cancelan los pendientes.
+     */
+    private void runInChunks(ExecutorService executor, String table, long salt, int total, ChunkTask task) throws Exception {
+        int chunks = (int) ((total + (long) options.batchSize - 1) / options.batchSize);
+        int progressEvery = Math.max(1, chunks / 20);
+        AtomicLong inserted = new AtomicLong();
+        AtomicInteger finishedChunks = new AtomicInteger();
+        long start = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * options.batchSize;
+            int to = Math.min(total, from + options.batchSize);
+            SplittableRandom random = chunkRandom(salt, chunk);
+            futures.add(executor.submit(() -> {
+                long rows = inserted.addAndGet(task.run(random, from, to));
+                int finished = finishedChunks.incrementAndGet();
+                if (finished % progressEvery == 0 || finished == chunks) {
+                    logProgress(table, rows, total, start);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void inTransaction(Consumer<UnitOfWork> work) {
+        try (UnitOfWork unitOfWork = new UnitOfWork(dataSource)) {
+            work.accept(unitOfWork);
+            unitOfWork.commit();
+        }
+    }
+
+    private SplittableRandom chunkRandom(long salt, int chunk) {
+        return new SplittableRandom(options.seed ^ (salt * 0x9E3779B97F4A7C15L) ^ (chunk * 0xBF58476D1CE4E5B9L));
+    }
+
+    private static void logProgress(String table, long rows, int total, long startNanos) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+        LOGGER.log(Level.INFO, String.format("%s: %,d/%,d filas (%,.0f filas/s)", table, rows, total, rows / seconds));
+    }
+
+    /**
+     * @return UUID versión 4 tomado del generador del lote, para que sea reproducible
+     */
+    private static UUID randomUUID(SplittableRandom random) {
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return entre uno y tres pacientes distintos; la mayoría de las consultas son individuales
+     */
+    private static List<UUID> pickPatients(SplittableRandom random, UUID[] patientIds) {
+        int roll = random.nextInt(100);
+        int count = Math.min(patientIds.length, roll < 80 ? 1 : roll < 95 ? 2 : 3);
+        List<UUID> picked = new ArrayList<>(count);
+        while (picked.size() < count) {
+            UUID patientId = patientIds[random.nextInt(patientIds.length)];
+            if (!picked.contains(patientId)) {
+                picked.add(patientId);
+            }
+        }
+        return picked;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String cityName(int index) {
+        String name = CITY_NAMES[index % CITY_NAMES.length];
+        int round = index / CITY_NAMES.length;
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+
+    private static String email(String name, String lastName, int index) {
+        String local = name.charAt(0) + lastName.replace(" ", "") + index;
+        return Normalizer.normalize(local, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase() + "@example.com";
+    }
+
+    private static String photoName(int template) {
+        return "foto_" + template + ".jpg";
+    }
+
+    /**
+     * Crea unas pocas fotos de muestra que luego se copian a las carpetas de los pacientes
+     */
+    private static Path createPhotoTemplates(long seed) throws IOException {
+        Path dir = Files.createTempDirectory("therapistapp-photos");
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < PHOTO_TEMPLATES; i++) {
+            BufferedImage image = new BufferedImage(PHOTO_SIZE, PHOTO_SIZE, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Color background = Color.getHSBColor((float) random.nextDouble(), 0.35f, 0.9f);
+            g2.setPaint(new GradientPaint(0, 0, background, PHOTO_SIZE, PHOTO_SIZE, background.darker()));
+            g2.fillRect(0, 0, PHOTO_SIZE, PHOTO_SIZE);
+            g2.setColor(new Color(255, 255, 255, 190));
+            g2.fillOval(140, 70, 120, 140);
+            g2.fillOval(70, 230, 260, 260);
+            g2.dispose();
+            ImageIO.write(image, "jpg", dir.resolve(photoName(i)).toFile());
+        }
+        return dir;
+    }
+
+    private static void deleteDirectory(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "No se pudo borrar " + path, e);
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "No se pudo borrar " + dir, e);
+        }
+    }
+
+    /**
+     * Reparte las consultas en forma pareja entre los días del rango. Dentro de
+     * un día las consultas ocupan turnos consecutivos que no se superponen; la
+     * duración del turno se acorta cuando hay más consultas por día que horas.
+     */
+    private static final class Schedule {
+        final LocalDate from;
+        final long days;
+        final long total;
+        final int perDay;
+        final int sessionMinutes;
+        final int dayStartMinute;
+
+        Schedule(LocalDate from, int years, int total) {
+            this.from = from;
+            this.days = ChronoUnit.DAYS.between(from, from.plusYears(years));
+            this.total = total;
+            this.perDay = (int) Math.max(1, (total + days - 1) / days);
+            this.sessionMinutes = Math.min(MAX_SESSION_MINUTES, (MINUTES_PER_DAY - 1) / perDay);
+            if (sessionMinutes == 0) {
+                throw new IllegalArgumentException(String.format(
+                        "No entran %d consultas por día sin superponerse; aumentar --years", perDay));
+            }
+            // Los turnos empiezan a las 8 si entran en el día; si no, lo antes posible
+            this.dayStartMinute = Math.max(0, Math.min(WORKDAY_START_MINUTE, MINUTES_PER_DAY - 1 - perDay * sessionMinutes));
+        }
+
+        LocalDate end() {
+            return from.plusDays(days);
+        }
+
+        LocalDate dateOf(int index) {
+            return from.plusDays(dayOf(index));
+        }
+
+        LocalTime startTimeOf(int index) {
+            long day = dayOf(index);
+            long firstOfDay = (day * total + days - 1) / days;
+            int slot = (int) (index - firstOfDay);
+            return LocalTime.ofSecondOfDay((dayStartMinute + (long) slot * sessionMinutes) * 60);
+        }
+
+        private long dayOf(int index) {
+            return index * days / total;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.application.tools;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Opciones de línea de comandos del generador de datos de prueba.
+ * Todas son opcionales; los valores por defecto generan un volumen similar al
+ * de un consultorio con muchos años de uso.
+ */
+public class DatasetOptions {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Uso: DatasetGenerator [opciones]",
+            "  --cities <n>          ciudades a generar (200)",
+            "  --patients <n>        pacientes a generar (100000)",
+            "  --consultations <n>   consultas a generar (2000000)",
+            "  --from <aaaa-mm-dd>   primer día de las consultas (2015-01-01)",
+            "  --years <n>           años cubiertos por las consultas (10)",
+            "  --seed <n>            semilla; misma semilla, mismos datos (42)",
+            "  --threads <n>         hilos de inserción (4)",
+            "  --batch <n>           filas por lote y por transacción (1000)",
+            "  --photo-ratio <0..1>  proporción de pacientes con foto (0.3)",
+            "  --notes-ratio <0..1>  proporción de consultas con notas (1.0)",
+            "  --files-dir <ruta>    carpeta base de fotos y notas (la de la aplicación)",
+            "  --no-files            no genera fotos ni notas",
+            "  --help                muestra esta ayuda");
+
+    int cities = 200;
+    int patients = 100_000;
+    int consultations = 2_000_000;
+    LocalDate from = LocalDate.of(2015, 1, 1);
+    int years = 10;
+    long seed = 42L;
+    int threads = 4;
+    int batchSize = 1000;
+    double photoRatio = 0.3;
+    double notesRatio = 1.0;
+    Path filesDir;
+    boolean files = true;
+    boolean help;
+
+    /**
+     * @param args argumentos de la línea de comandos
+     * @return opciones leídas
+     * @throws IllegalArgumentException si una opción no existe o su valor no es válido
+     */
+    public static DatasetOptions parse(String[] args) {
+        DatasetOptions options = new DatasetOptions();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "--help" -> options.help = true;
+                case "--no-files" -> options.files = false;
+                case "--cities" -> options.cities = parseCount(option, value(args, ++i, option), 1);
+                case "--patients" -> options.patients = parseCount(option, value(args, ++i, option), 1);
+                case "--consultations" -> options.consultations = parseCount(option, value(args, ++i, option), 0);
+                case "--years" -> options.years = parseCount(option, value(args, ++i, option), 1);
+                case "--threads" -> options.threads = parseCount(option, value(args, ++i, option), 1);
+                case "--batch" -> options.batchSize = parseCount(option, value(args, ++i, option), 1);
+                case "--seed" -> options.seed = parseSeed(value(args, ++i, option));
+                case "--from" -> options.from = parseDate(value(args, ++i, option));
+                case "--photo-ratio" -> options.photoRatio = parseRatio(option, value(args, ++i, option));
+                case "--notes-ratio" -> options.notesRatio = parseRatio(option, value(args, ++i, option));
+                case "--files-dir" -> options.filesDir = Paths.get(value(args, ++i, option));
+                default -> throw new IllegalArgumentException("Opción desconocida: " + option);
+            }
+        }
+        // El DNI se arma a partir del número de paciente y tiene 8 dígitos
+        if (options.patients > DatasetGenerator.MAX_PATIENTS) {
+            throw new IllegalArgumentException("--patients no puede superar " + DatasetGenerator.MAX_PATIENTS);
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de " + option);
+        }
+        return args[index];
+    }
+
+    private static int parseCount(String option, String value, int min) {
+        try {
+            int count = Integer.parseInt(value.replace("_", ""));
+            if (count < min) {
+                throw new IllegalArgumentException(option + " debe ser mayor o igual a " + min);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " debe ser un número entero: " + value);
+        }
+    }
+
+    private static long parseSeed(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--seed debe ser un número entero: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("--from debe tener el formato aaaa-mm-dd: " + value);
+        }
+    }
+
+    private static double parseRatio(String option, String value) {
+        try {
+            double ratio = Double.parseDouble(value);
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException(option + " debe estar entre 0 y 1");
+            }
+            return ratio;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " debe ser un número entre 0 y 1: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ciudades=%d, pacientes=%d, consultas=%d, desde=%s, años=%d, semilla=%d, hilos=%d, lote=%d, archivos=%s",
+                cities, patients, consultations, from, years, seed, threads, batchSize,
+                files ? String.format("sí (fotos=%.2f, notas=%.2f)", photoRatio, notesRatio) : "no");
+    }
+}
@@ -0,0 +1,54 @@
+package com.application.tools;
+
+import com.application.model.database.ConnectionPool;
+import com.application.model.database.SchemaMigrator;
+import com.application.model.database.UuidCodec;
+import com.application.model.database.UuidStorageMigration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cambia el formato en que la base de datos guarda las claves UUID. La
+ * aplicación detecta el formato al iniciar, de modo que después de convertir
+ * solo hace falta volver a abrirla.
+ */
+public class UuidStorageConverter {
+    private static final Logger LOGGER = Logger.getLogger(UuidStorageConverter.class.getName());
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Uso: UuidStorageConverter --to <binary|text>",
+            "  --to binary   guarda las claves como BINARY(16)",
+            "  --to text     guarda las claves como char(36), el formato original",
+            "Cerrar la aplicación y respaldar la base de datos antes de convertir.");
+
+    public static void main(String[] args) {
+        UuidCodec.Storage target;
+        try {
+            target = parseTarget(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try (ConnectionPool connectionPool = new ConnectionPool(1)) {
+            new SchemaMigrator(connectionPool).applyUnversioned(
+                    UuidStorageMigration.describe(target), UuidStorageMigration.stepsTo(target));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "No se pudo convertir el formato de las claves", e);
+            System.exit(1);
+        }
+    }
+
+    private static UuidCodec.Storage parseTarget(String[] args) {
+        if (args.length != 2 || !"--to".equals(args[0])) {
+            throw new IllegalArgumentException("Falta el formato de destino");
+        }
+        return switch (args[1]) {
+            case "binary" -> UuidCodec.Storage.BINARY;
+            case "text" -> UuidCodec.Storage.TEXT;
+            default -> throw new IllegalArgumentException("Formato desconocido: " + args[1]);
+        };
+    }
+}
@@ -29,6 +29,11 @@ public class ApplicationFilesManager {
         Files.createDirectories(appDataDir);
     }
 
+    /** Devuelve la carpeta de datos internos de la aplicación (appdata). */
+    public Path getAppDataDir() {
+        return appDataDir;
+    }
+
     /** Devuelve true si la carpeta base y sus subdirectorios existen. */
     public boolean areFoldersReady() {
         return Files.isDirectory(patientsDir) && Files.isDirectory(appDataDir);
@@ -0,0 +1,66 @@
+package com.application.utils;
+
+import java.awt.Cursor;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.JComponent;
+
+/**
+ * Indicador de "ocupado" de un panel: muestra el cursor de espera mientras haya
+ * alguna operación en curso. Lleva la cuenta de las operaciones, de modo que
+ * varias cargas simultáneas no lo apagan antes de tiempo. Solo se usa desde el EDT.
+ */
+public class BusyIndicator {
+    private static final Cursor WAIT_CURSOR = Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR);
+
+    private final JComponent component;
+    private int activeOperations;
+    private Cursor previousCursor;
+
+    /**
+     * @param component componente sobre el que se muestra el indicador
+     */
+    public BusyIndicator(JComponent component) {
+        this.component = component;
+    }
+
+    /**
+     * Marca el inicio de una operación
+     */
+    public void start() {
+        if (activeOperations++ == 0) {
+            previousCursor = component.isCursorSet() ? component.getCursor() : null;
+            component.setCursor(WAIT_CURSOR);
+        }
+    }
+
+    /**
+     * Marca el fin de una operación
+     */
+    public void stop() {
+        if (activeOperations == 0) {
+            return;
+        }
+        if (--activeOperations == 0) {
+            component.setCursor(previousCursor);
+        }
+    }
+
+    /**
+     * @return true si hay alguna operación en curso
+     */
+    public boolean isBusy() {
+        return activeOperations > 0;
+    }
+
+    /**
+     * Muestra el indicador hasta que la operación termine
+     * @param <T> tipo de resultado
+     * @param future operación en curso
+     * @return la misma operación
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        start();
+        future.whenCompleteAsync((result, error) -> stop(), EdtExecutor.INSTANCE);
+        return future;
+    }
+}
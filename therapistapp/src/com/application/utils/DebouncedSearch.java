@@ -0,0 +1,113 @@
+package com.application.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Ejecuta búsquedas disparadas por el teclado fuera del EDT.
+ * Agrupa las pulsaciones que llegan dentro del intervalo de espera, cancela la
+ * búsqueda anterior si todavía está en curso y solo publica en el EDT el
+ * resultado de la última búsqueda solicitada.
+ * @param <T> tipo de resultado de la búsqueda
+ */
+public class DebouncedSearch<T> implements AutoCloseable {
+
+    /**
+     * Consulta a ejecutar en segundo plano
+     * @param <T> tipo de resultado
+     */
+    @FunctionalInterface
+    public interface SearchQuery<T> {
+        T search(String term) throws Exception;
+    }
+
+    private final SearchQuery<T> query;
+    private final Consumer<T> onResult;
+    private final Consumer<Exception> onError;
+    private final Timer debounceTimer;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong generation = new AtomicLong();
+
+    private String pendingTerm = "";
+    private Future<?> runningSearch;
+
+    /**
+     * @param delayMillis tiempo de espera sin pulsaciones antes de buscar
+     * @param query consulta que se ejecuta fuera del EDT
+     * @param onResult recibe el resultado en el EDT
+     * @param onError recibe el error en el EDT
+     */
+    public DebouncedSearch(int delayMillis, SearchQuery<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+        this.query = query;
+        this.onResult = onResult;
+        this.onError = onError;
+        this.debounceTimer = new Timer(delayMillis, e -> launch());
+        this.debounceTimer.setRepeats(false);
+    }
+
+    /**
+     * Programa una búsqueda; reinicia la espera si ya había una pendiente.
+     * Debe invocarse desde el EDT.
+     * @param term término de búsqueda
+     */
+    public void submit(String term) {
+        pendingTerm = term != null ? term : "";
+        generation.incrementAndGet();
+        debounceTimer.restart();
+    }
+
+    /**
+     * Descarta la búsqueda pendiente y la que esté en curso
+     */
+    public void cancel() {
+        debounceTimer.stop();
+        generation.incrementAndGet();
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+            runningSearch = null;
+        }
+    }
+
+    private void launch() {
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+        }
+        final long ticket = generation.get();
+        final String term = pendingTerm;
+        runningSearch = executor.submit(() -> {
+            try {
+                T result = query.search(term);
+                publish(ticket, () -> onResult.accept(result));
+            } catch (Exception e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    publish(ticket, () -> onError.accept(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Publica en el EDT solo si no se pidió otra búsqueda mientras tanto
+     */
+    private void publish(long ticket, Runnable action) {
+        if (ticket != generation.get()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (ticket == generation.get()) {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,65 @@
+package com.application.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Ejecutor que corre las tareas en el EDT de Swing. Se usa para volver a la
+ * interfaz con el resultado de una operación hecha en segundo plano:
+ * <pre>
+ * future.whenCompleteAsync((result, error) -&gt; ..., EdtExecutor.INSTANCE);
+ * </pre>
+ */
+public final class EdtExecutor implements Executor {
+
+    public static final EdtExecutor INSTANCE = new EdtExecutor();
+
+    private EdtExecutor() {
+    }
+
+    /**
+     * Corre la tarea de inmediato si ya se está en el EDT; si no, la encola
+     * @param command tarea a ejecutar
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            command.run();
+        } else {
+            SwingUtilities.invokeLater(command);
+        }
+    }
+
+    /**
+     * Entrega en el EDT el resultado o el error de la operación
+     * @param <T> tipo de resultado
+     * @param future operación en curso
+     * @param onSuccess recibe el resultado
+     * @param onError recibe el error original (sin el envoltorio de CompletableFuture)
+     */
+    public static <T> void whenDone(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                onError.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }, INSTANCE);
+    }
+
+    /**
+     * @param error error recibido de un CompletableFuture
+     * @return la causa original si el error es un envoltorio de CompletableFuture
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
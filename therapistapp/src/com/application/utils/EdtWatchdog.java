@@ -0,0 +1,196 @@
+package com.application.utils;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Vigila que el EDT no quede bloqueado. Reemplaza la cola de eventos de Swing
+ * por una que registra cuándo empieza y termina cada evento; un hilo aparte
+ * revisa periódicamente si el evento en curso supera el umbral y, en ese caso,
+ * guarda la pila del EDT y las sentencias de base de datos en ejecución en un
+ * archivo de diagnóstico rotativo (edt-stalls-N.log).
+ *
+ * Los eventos anidados (los que despacha un diálogo modal mientras está
+ * abierto) se miden por separado; el tiempo que el diálogo pasa esperando al
+ * usuario no cuenta como bloqueo.
+ */
+public class EdtWatchdog extends EventQueue implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EdtWatchdog.class.getName());
+    private static final Logger STALL_LOGGER = Logger.getLogger(EdtWatchdog.class.getName() + ".stalls");
+
+    private static final String LOG_FILE_PATTERN = "edt-stalls-%g.log";
+    private static final int LOG_FILE_LIMIT_BYTES = 1024 * 1024;
+    private static final int LOG_FILE_COUNT = 5;
+    private static final int MAX_STACK_FRAMES = 60;
+    private static final long MIN_CHECK_PERIOD_MS = 25;
+
+    private final long thresholdNanos;
+    private final Supplier<List<String>> activeStatements;
+    private final FileHandler fileHandler;
+    private final ScheduledExecutorService monitor;
+
+    // Solo el EDT los modifica; el monitor los lee
+    private volatile long dispatchStartNanos;
+    private volatile long dispatchNumber;
+    private volatile AWTEvent dispatchEvent;
+    private volatile Thread eventDispatchThread;
+
+    private volatile long reportedDispatch = -1;
+    private final AtomicLong stallCount = new AtomicLong();
+
+    /**
+     * Instala el vigilante en la cola de eventos del sistema
+     * @param diagnosticsDir carpeta de los archivos de diagnóstico
+     * @param thresholdMillis duración de un evento a partir de la cual se considera un bloqueo
+     * @param activeStatements describe las sentencias de base de datos en curso (una línea por hilo)
+     * @return el vigilante instalado
+     * @throws IOException si no se puede crear el archivo de diagnóstico
+     */
+    public static EdtWatchdog install(Path diagnosticsDir, long thresholdMillis, Supplier<List<String>> activeStatements) throws IOException {
+        EdtWatchdog watchdog = new EdtWatchdog(diagnosticsDir, thresholdMillis, activeStatements);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+        watchdog.start();
+        return watchdog;
+    }
+
+    private EdtWatchdog(Path diagnosticsDir, long thresholdMillis, Supplier<List<String>> activeStatements) throws IOException {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.activeStatements = activeStatements;
+
+        Files.createDirectories(diagnosticsDir);
+        this.fileHandler = new FileHandler(
+                diagnosticsDir.resolve(LOG_FILE_PATTERN).toString(), LOG_FILE_LIMIT_BYTES, LOG_FILE_COUNT, true);
+        this.fileHandler.setFormatter(new SimpleFormatter());
+        this.fileHandler.setEncoding("UTF-8");
+        STALL_LOGGER.setUseParentHandlers(false);
+        STALL_LOGGER.addHandler(fileHandler);
+
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void start() {
+        long periodMillis = Math.max(MIN_CHECK_PERIOD_MS, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 4);
+        monitor.scheduleAtFixedRate(this::check, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        LOGGER.log(Level.INFO, "Vigilancia del EDT activa (umbral {0} ms)", TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        eventDispatchThread = Thread.currentThread();
+        long number = dispatchNumber + 1;
+        long start = System.nanoTime();
+        dispatchEvent = event;
+        dispatchNumber = number;
+        dispatchStartNanos = start;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            // Al volver de un evento anidado el EDT queda en el bucle del diálogo modal,
+            // que espera al usuario: no se sigue midiendo el evento externo
+            dispatchStartNanos = 0;
+            dispatchEvent = null;
+            if (reportedDispatch == number) {
+                STALL_LOGGER.log(Level.WARNING, String.format("El evento bloqueado #%d terminó tras %d ms",
+                        number, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+        }
+    }
+
+    /**
+     * Revisa si el evento en curso supera el umbral; cada evento se informa una sola vez
+     */
+    private void check() {
+        try {
+            long start = dispatchStartNanos;
+            long number = dispatchNumber;
+            if (start == 0 || number == reportedDispatch) {
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed < thresholdNanos) {
+                return;
+            }
+            Thread edt = eventDispatchThread;
+            AWTEvent event = dispatchEvent;
+            StackTraceElement[] stack = edt != null ? edt.getStackTrace() : new StackTraceElement[0];
+            // El evento pudo terminar mientras se tomaba la pila
+            if (dispatchNumber != number || dispatchStartNanos != start) {
+                return;
+            }
+            reportedDispatch = number;
+            stallCount.incrementAndGet();
+            STALL_LOGGER.log(Level.WARNING, describeStall(number, elapsed, event, stack));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error al revisar el EDT", e);
+        }
+    }
+
+    private String describeStall(long number, long elapsedNanos, AWTEvent event, StackTraceElement[] stack) {
+        String separator = System.lineSeparator();
+        StringBuilder report = new StringBuilder()
+                .append(String.format("EDT bloqueado: evento #%d lleva %d ms", number, TimeUnit.NANOSECONDS.toMillis(elapsedNanos)))
+                .append(separator).append("  Evento: ").append(describeEvent(event));
+
+        List<String> statements = activeStatements.get();
+        report.append(separator).append("  Sentencias en curso:");
+        if (statements.isEmpty()) {
+            report.append(" ninguna");
+        }
+        statements.forEach(statement -> report.append(separator).append("    ").append(statement));
+
+        report.append(separator).append("  Pila del EDT:");
+        int frames = Math.min(stack.length, MAX_STACK_FRAMES);
+        for (int i = 0; i < frames; i++) {
+            report.append(separator).append("    at ").append(stack[i]);
+        }
+        if (stack.length > frames) {
+            report.append(separator).append("    ... ").append(stack.length - frames).append(" más");
+        }
+        return report.toString();
+    }
+
+    private static String describeEvent(AWTEvent event) {
+        if (event == null) {
+            return "desconocido";
+        }
+        Object source = event.getSource();
+        String sourceName = source != null ? source.getClass().getName() : "sin origen";
+        return event.getClass().getSimpleName() + " (id " + event.getID() + ") de " + sourceName;
+    }
+
+    /**
+     * @return cantidad de bloqueos detectados desde que se instaló
+     */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /**
+     * Detiene el monitor, quita la cola de eventos y cierra el archivo de diagnóstico
+     */
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        pop();
+        STALL_LOGGER.removeHandler(fileHandler);
+        fileHandler.close();
+    }
+}
@@ -0,0 +1,163 @@
+package com.application.utils;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+/**
+ * Caché de miniaturas de fotos de pacientes compartida por toda la aplicación.
+ * Cada miniatura se identifica por el Id del paciente y la ruta de la foto;
+ * cuando la foto se reemplaza o se elimina, PatientsFilesManager descarta la
+ * miniatura con invalidate, de modo que al pintar no se consulta el disco.
+ * Las más usadas se mantienen en un LRU acotado; las que salen del LRU quedan
+ * en referencias blandas (SoftReference) que el GC puede liberar, y las ya
+ * liberadas se quitan del mapa en el siguiente acceso.
+ */
+public final class PatientPhotoCache {
+    public static final int THUMBNAIL_SIZE = 88;
+    private static final int MAX_STRONG_ENTRIES = 256;
+
+    private static final PatientPhotoCache INSTANCE = new PatientPhotoCache();
+
+    private final Map<String, Thumbnail> strongEntries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Thumbnail> eldest) {
+            if (size() > MAX_STRONG_ENTRIES) {
+                softEntries.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), releasedEntries));
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, SoftEntry> softEntries = new HashMap<>();
+    private final ReferenceQueue<Thumbnail> releasedEntries = new ReferenceQueue<>();
+
+    private PatientPhotoCache() {
+    }
+
+    public static PatientPhotoCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtiene la miniatura de la foto, generándola solo si no está en caché
+     * o si la ruta de la foto cambió desde que se generó.
+     * @param patientId Id del paciente (o cualquier clave estable para fotos compartidas)
+     * @param photoPath ruta de la foto en disco
+     * @return Icon de THUMBNAIL_SIZE x THUMBNAIL_SIZE
+     */
+    public Icon getThumbnail(String patientId, String photoPath) {
+        Thumbnail cached = lookup(patientId);
+        if (cached != null && cached.photoPath.equals(photoPath)) {
+            return cached.icon;
+        }
+
+        Thumbnail created = new Thumbnail(photoPath, createThumbnail(photoPath));
+        synchronized (this) {
+            softEntries.remove(patientId);
+            strongEntries.put(patientId, created);
+        }
+        return created.icon;
+    }
+
+    /**
+     * Descarta la miniatura de un paciente (foto reemplazada o eliminada)
+     * @param patientId Id del paciente
+     */
+    public synchronized void invalidate(String patientId) {
+        strongEntries.remove(patientId);
+        softEntries.remove(patientId);
+    }
+
+    /**
+     * Descarta todas las miniaturas
+     */
+    public synchronized void clear() {
+        strongEntries.clear();
+        softEntries.clear();
+    }
+
+    private synchronized Thumbnail lookup(String patientId) {
+        purgeReleasedEntries();
+        Thumbnail thumbnail = strongEntries.get(patientId);
+        if (thumbnail != null) {
+            return thumbnail;
+        }
+        SoftEntry reference = softEntries.remove(patientId);
+        thumbnail = reference != null ? reference.get() : null;
+        if (thumbnail != null) {
+            strongEntries.put(patientId, thumbnail);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Quita del mapa las referencias que el GC ya liberó; solo se quitan si
+     * la clave sigue apuntando a esa misma referencia
+     */
+    private void purgeReleasedEntries() {
+        Reference<? extends Thumbnail> released;
+        while ((released = releasedEntries.poll()) != null) {
+            SoftEntry entry = (SoftEntry) released;
+            softEntries.remove(entry.patientId, entry);
+        }
+    }
+
+    /**
+     * Decodifica la imagen y la escala una única vez a un BufferedImage,
+     * evitando el escalado diferido de Image.getScaledInstance.
+     */
+    private static ImageIcon createThumbnail(String photoPath) {
+        Image source = null;
+        try {
+            source = ImageIO.read(Path.of(photoPath).toFile());
+        } catch (IOException | RuntimeException e) {
+            // se intenta con ImageIcon, que admite otros formatos
+        }
+        if (source == null) {
+            source = new ImageIcon(photoPath).getImage();
+        }
+
+        BufferedImage thumbnail = new BufferedImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = thumbnail.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(source, 0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE, null);
+        } finally {
+            g2.dispose();
+        }
+        return new ImageIcon(thumbnail);
+    }
+
+    private static final class Thumbnail {
+        private final String photoPath;
+        private final ImageIcon icon;
+
+        private Thumbnail(String photoPath, ImageIcon icon) {
+            this.photoPath = photoPath;
+            this.icon = icon;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Thumbnail> {
+        private final String patientId;
+
+        private SoftEntry(String patientId, Thumbnail thumbnail, ReferenceQueue<Thumbnail> queue) {
+            super(thumbnail, queue);
+            this.patientId = patientId;
+        }
+    }
+}
@@ -150,7 +150,9 @@ public class PatientsFilesManager {
 
         // Copiar la nueva imagen (dejando el archivo original intacto)
         Path target = destDir.resolve(sourcePhotoPath.getFileName());
-        return Files.copy(sourcePhotoPath, target, StandardCopyOption.REPLACE_EXISTING);
+        Path copied = Files.copy(sourcePhotoPath, target, StandardCopyOption.REPLACE_EXISTING);
+        PatientPhotoCache.getInstance().invalidate(patientId.toString());
+        return copied;
     }
 
     /**
@@ -173,6 +175,7 @@ public class PatientsFilesManager {
                 }
             }
         }
+        PatientPhotoCache.getInstance().invalidate(patientId.toString());
         return deleted;
     }
     
@@ -0,0 +1,78 @@
+package com.application.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mide la duración de cada fase del arranque de la aplicación y la informa en
+ * el log. Las fases pueden ejecutarse en paralelo desde distintos hilos.
+ */
+public class StartupTimer {
+    private static final Logger LOGGER = Logger.getLogger(StartupTimer.class.getName());
+
+    /**
+     * Tarea de una fase del arranque
+     */
+    @FunctionalInterface
+    public interface StartupTask {
+        void run() throws Exception;
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final List<String> phases = new ArrayList<>();
+
+    /**
+     * Ejecuta una fase y registra su duración, aunque termine con error
+     * @param phase nombre de la fase
+     * @param task tarea de la fase
+     * @throws Exception el error de la tarea
+     */
+    public void run(String phase, StartupTask task) throws Exception {
+        long phaseStart = System.nanoTime();
+        boolean failed = true;
+        try {
+            task.run();
+            failed = false;
+        } finally {
+            record(phase, System.nanoTime() - phaseStart, failed);
+        }
+    }
+
+    /**
+     * Informa en el log la duración de cada fase, el tiempo desde que se creó
+     * el medidor y, si está disponible, el tiempo desde que arrancó la JVM
+     */
+    public void report() {
+        StringBuilder report = new StringBuilder("Tiempos de arranque:");
+        synchronized (phases) {
+            phases.forEach(line -> report.append(System.lineSeparator()).append("  ").append(line));
+        }
+        report.append(System.lineSeparator())
+              .append(String.format("  Total desde main: %d ms", toMillis(System.nanoTime() - startNanos)));
+        getJvmUptimeMillis().ifPresent(uptime -> report.append(System.lineSeparator())
+              .append(String.format("  Total desde el inicio de la JVM: %d ms", uptime)));
+        LOGGER.log(Level.INFO, report.toString());
+    }
+
+    private void record(String phase, long elapsedNanos, boolean failed) {
+        String line = String.format("%-28s %6d ms%s [%s]",
+                phase, toMillis(elapsedNanos), failed ? " (con error)" : "", Thread.currentThread().getName());
+        synchronized (phases) {
+            phases.add(line);
+        }
+    }
+
+    private static Optional<Long> getJvmUptimeMillis() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis());
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
@@ -24,7 +24,13 @@ import com.application.view.menu.MenuAction;
 
 public class MainForm extends JLayeredPane {
 
-    public MainForm() {
+    private final ControllerRegistry controllerRegistry;
+
+    /**
+     * @param controllerRegistry controladores compartidos por todas las vistas
+     */
+    public MainForm(ControllerRegistry controllerRegistry) {
+        this.controllerRegistry = controllerRegistry;
         init();
     }
 
@@ -64,17 +70,15 @@ public class MainForm extends JLayeredPane {
     }
 
     private void initMenuEvent() {
-        ControllerRegistry controllerRegistry = new ControllerRegistry();
+        viewRegistry.register(0, () -> new ConsultationsPanelController(controllerRegistry).getView());
+        viewRegistry.register(1, () -> new PatientsPanelController(controllerRegistry).getView());
         
         menu.addMenuEvent((int index, int subIndex, MenuAction action) -> {
             // Application.mainForm.showForm(new DefaultForm("Form : " + index + " " + subIndex));
-                        
-            if (index == 0) {
-                Application.showForm(new ConsultationsPanelController(controllerRegistry).getView());
-            }
             
-            if (index == 1) {
-                Application.showForm(new PatientsPanelController(controllerRegistry).getView());
+            Component view = viewRegistry.show(index);
+            if (view != null) {
+                Application.showForm(view);
             }
                         
         });
@@ -107,6 +111,7 @@ public class MainForm extends JLayeredPane {
         menu.setSelectedMenu(index, subIndex);
     }
 
+    private final ViewRegistry viewRegistry = new ViewRegistry();
     private Menu menu;
     private JPanel panelBody;
     private JButton menuButton;
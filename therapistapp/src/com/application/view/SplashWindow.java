@@ -0,0 +1,46 @@
+package com.application.view;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import java.awt.BorderLayout;
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JWindow;
+import javax.swing.SwingConstants;
+
+/**
+ * Ventana de presentación que se muestra mientras se preparan la base de
+ * datos, los datos de referencia y los recursos de la interfaz.
+ */
+public class SplashWindow extends JWindow {
+
+    private final JLabel jLabelStatus;
+
+    public SplashWindow() {
+        JLabel jLabelTitle = new JLabel("Therapist App", SwingConstants.CENTER);
+        jLabelTitle.putClientProperty(FlatClientProperties.STYLE, "font:bold +12;");
+
+        jLabelStatus = new JLabel("Iniciando...", SwingConstants.CENTER);
+
+        JProgressBar jProgressBar = new JProgressBar();
+        jProgressBar.setIndeterminate(true);
+
+        JPanel jPanelMain = new JPanel(new BorderLayout(0, 12));
+        jPanelMain.setBorder(BorderFactory.createEmptyBorder(30, 40, 30, 40));
+        jPanelMain.add(jLabelTitle, BorderLayout.NORTH);
+        jPanelMain.add(jLabelStatus, BorderLayout.CENTER);
+        jPanelMain.add(jProgressBar, BorderLayout.SOUTH);
+
+        setContentPane(jPanelMain);
+        setSize(360, 160);
+        setLocationRelativeTo(null);
+    }
+
+    /**
+     * @param status texto de la fase en curso
+     */
+    public void setStatus(String status) {
+        jLabelStatus.setText(status);
+    }
+}
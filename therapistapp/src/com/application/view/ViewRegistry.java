@@ -0,0 +1,64 @@
+package com.application.view;
+
+import com.application.interfaces.IViewLifecycle;
+import java.awt.Component;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro de las vistas del menú principal. Cada vista se crea la primera vez
+ * que se pide y luego se conserva, de modo que cambiar de opción del menú no
+ * reconstruye los componentes ni recarga todos los datos: al volver a
+ * mostrarse, las vistas que implementan IViewLifecycle solo se actualizan.
+ * Solo se usa desde el EDT.
+ */
+public class ViewRegistry {
+    private final Map<Integer, Supplier<? extends Component>> factories = new HashMap<>();
+    private final Map<Integer, Component> views = new HashMap<>();
+    private Component currentView;
+
+    /**
+     * Registra cómo crear la vista de una opción del menú
+     * @param index índice de la opción del menú
+     * @param factory crea la vista (y su controlador)
+     */
+    public void register(int index, Supplier<? extends Component> factory) {
+        factories.put(index, factory);
+    }
+
+    /**
+     * Obtiene la vista a mostrar, creándola si es la primera vez. Avisa a la
+     * vista anterior que se oculta y a la vista reutilizada que vuelve a mostrarse.
+     * @param index índice de la opción del menú
+     * @return la vista, o null si la opción no tiene vista registrada
+     */
+    public Component show(int index) {
+        boolean created = !views.containsKey(index);
+        Component view = getOrCreate(index);
+        if (view == null || view == currentView) {
+            return view;
+        }
+        if (currentView instanceof IViewLifecycle previous) {
+            previous.onHide();
+        }
+        if (!created && view instanceof IViewLifecycle lifecycle) {
+            lifecycle.onShow();
+        }
+        currentView = view;
+        return view;
+    }
+
+    private Component getOrCreate(int index) {
+        Component view = views.get(index);
+        if (view == null) {
+            Supplier<? extends Component> factory = factories.get(index);
+            if (factory == null) {
+                return null;
+            }
+            view = factory.get();
+            views.put(index, view);
+        }
+        return view;
+    }
+}
@@ -0,0 +1,186 @@
+package com.application.view.panels.consultation;
+
+import com.application.view.panels.consultation.calendar.ModelDate;
+import com.application.view.panels.consultation.calendar.ModelMonth;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Caché de la cantidad de consultas por día, agrupada por mes del calendario.
+ * Cada mes se carga con una única consulta de rango que cubre las 7 semanas
+ * (49 días) visibles en la grilla de días, de modo que al pintar el calendario no se
+ * accede a la base de datos.
+ *
+ * Al cambiar de mes se piden en segundo plano el mes anterior, el actual y el
+ * siguiente sobre un pool acotado; las cargas de meses que dejaron de estar
+ * cerca del mes mostrado se cancelan. El mapa de cantidades solo se accede
+ * desde el EDT.
+ */
+public class ConsultationCountCache implements AutoCloseable {
+
+    /**
+     * Origen de la cantidad de consultas por día
+     */
+    @FunctionalInterface
+    public interface CountSource {
+        Map<String, Integer> getConsultationCountsBetweenDates(String fromDate, String toDate) throws Exception;
+    }
+
+    private static final int VISIBLE_DAYS = 49;
+    private static final int PREFETCH_THREADS = 2;
+    private static final int PREFETCH_QUEUE_CAPACITY = 6;
+
+    private final CountSource countSource;
+    private final Runnable onMonthLoaded;
+    private final Consumer<Exception> onError;
+    private final Map<ModelMonth, Map<String, Integer>> countsByMonth = new HashMap<>();
+    private final Map<ModelMonth, Future<?>> pendingLoads = new HashMap<>();
+    private final ThreadPoolExecutor executor;
+    private long generation;
+
+    /**
+     * @param countSource origen de las cantidades
+     * @param onMonthLoaded se invoca en el EDT cada vez que se incorpora un mes
+     * @param onError recibe en el EDT los errores de carga del mes mostrado
+     */
+    public ConsultationCountCache(CountSource countSource, Runnable onMonthLoaded, Consumer<Exception> onError) {
+        this.countSource = countSource;
+        this.onMonthLoaded = onMonthLoaded;
+        this.onError = onError;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                PREFETCH_THREADS, PREFETCH_THREADS,
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(PREFETCH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "calendar-prefetch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Si la cola está llena la carga se descarta; se volverá a pedir en el próximo cambio de mes
+                (runnable, pool) -> ((Future<?>) runnable).cancel(false));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Pide en segundo plano el mes indicado y sus meses vecinos, cancelando las
+     * cargas pendientes de otros meses. Debe invocarse desde el EDT.
+     * @param month mes mostrado en el calendario
+     */
+    public void prefetch(ModelMonth month) {
+        ModelMonth current = new ModelMonth(month.getYear(), month.getMonth());
+        List<ModelMonth> wanted = List.of(current, addMonths(current, -1), addMonths(current, 1));
+
+        Iterator<Map.Entry<ModelMonth, Future<?>>> it = pendingLoads.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ModelMonth, Future<?>> entry = it.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel(true);
+                it.remove();
+            }
+        }
+        executor.purge();
+
+        for (ModelMonth wantedMonth : wanted) {
+            requestLoad(wantedMonth, wantedMonth.equals(current));
+        }
+    }
+
+    /**
+     * @param date fecha a consultar
+     * @return cantidad de consultas del día, o 0 si no hay o el mes no está cargado
+     */
+    public int getCount(ModelDate date) {
+        String key = date.toLocalDate().toString();
+        Map<String, Integer> counts = countsByMonth.get(date.toMonth());
+        if (counts != null) {
+            return counts.getOrDefault(key, 0);
+        }
+        // Días del mes anterior o siguiente que se ven en la grilla del mes cargado
+        for (Map<String, Integer> monthCounts : countsByMonth.values()) {
+            Integer count = monthCounts.get(key);
+            if (count != null) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Descarta todos los meses cargados y las cargas en curso (por ejemplo, luego de guardar una consulta)
+     */
+    public void invalidate() {
+        generation++;
+        pendingLoads.values().forEach(future -> future.cancel(true));
+        pendingLoads.clear();
+        executor.purge();
+        countsByMonth.clear();
+    }
+
+    @Override
+    public void close() {
+        invalidate();
+        executor.shutdownNow();
+    }
+
+    private void requestLoad(ModelMonth month, boolean reportErrors) {
+        Future<?> pending = pendingLoads.get(month);
+        if (countsByMonth.containsKey(month) || (pending != null && !pending.isDone())) {
+            return;
+        }
+        final long ticket = generation;
+        LocalDate firstDate = getFirstVisibleDate(month);
+        LocalDate lastDate = firstDate.plusDays(VISIBLE_DAYS - 1);
+
+        pendingLoads.put(month, executor.submit(() -> {
+            try {
+                Map<String, Integer> counts = countSource.getConsultationCountsBetweenDates(firstDate.toString(), lastDate.toString());
+                SwingUtilities.invokeLater(() -> publish(ticket, month, counts));
+            } catch (Exception e) {
+                if (reportErrors && !Thread.currentThread().isInterrupted()) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (ticket == generation) {
+                            pendingLoads.remove(month);
+                            onError.accept(e);
+                        }
+                    });
+                }
+            }
+        }));
+    }
+
+    private void publish(long ticket, ModelMonth month, Map<String, Integer> counts) {
+        if (ticket != generation) {
+            return;
+        }
+        pendingLoads.remove(month);
+        countsByMonth.put(month, counts);
+        onMonthLoaded.run();
+    }
+
+    private static ModelMonth addMonths(ModelMonth month, int months) {
+        LocalDate date = LocalDate.of(month.getYear(), month.getMonth(), 1).plusMonths(months);
+        return new ModelMonth(date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * Primer día que muestra la grilla del mes; replica el cálculo de PanelDay,
+     * que comienza una semana antes del domingo previo al día 1
+     */
+    private static LocalDate getFirstVisibleDate(ModelMonth month) {
+        LocalDate firstOfMonth = LocalDate.of(month.getYear(), month.getMonth(), 1);
+        int daysFromSunday = firstOfMonth.getDayOfWeek().getValue() % 7;
+        return firstOfMonth.minusDays(daysFromSunday + 7L);
+    }
+}
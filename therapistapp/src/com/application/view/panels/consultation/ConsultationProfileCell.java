@@ -1,18 +1,22 @@
 package com.application.view.panels.consultation;
 
 import com.application.model.dto.PatientDTO;
-import java.awt.Font;
 
 public class ConsultationProfileCell extends javax.swing.JPanel {
 
-    public ConsultationProfileCell(PatientDTO patientDTO, Font font) {
+    public ConsultationProfileCell() {
         initComponents();
+    }
+
+    /**
+     * Carga los datos del paciente en la celda, permitiendo reutilizarla entre filas
+     * @param patientDTO paciente a mostrar
+     */
+    public final void setPatientDTO(PatientDTO patientDTO) {
         jLabelCompleteNameAndAge.setText(
                 patientDTO.getPatientDTOFormattedCompleteName() + " (" + patientDTO.getPatientDTOActualAge() + ")");
         jLabelOccupation.setText(patientDTO.getPatienDTOOccupation());
-        if (patientDTO.getPatientDTOPhotoPath() != null) {
-            jLabelPhoto.setIcon(patientDTO.getPatientDTOIcon());
-        }
+        jLabelPhoto.setIcon(patientDTO.getPatientDTOPhotoPath() != null ? patientDTO.getPatientDTOIcon() : null);
     }
     
     @SuppressWarnings("unchecked")
@@ -1,11 +1,16 @@
 package com.application.view.panels.consultation;
 
-import java.awt.Font;
-
 public class ConsultationTimeCell extends javax.swing.JPanel {
 
-    public ConsultationTimeCell(String consultationTime, Font font) {
+    public ConsultationTimeCell() {
         initComponents();
+    }
+
+    /**
+     * Carga el horario en la celda, permitiendo reutilizarla entre filas
+     * @param consultationTime horario a mostrar
+     */
+    public final void setConsultationTime(String consultationTime) {
         jLabelTime.setText(consultationTime);
     }
 
@@ -2,14 +2,18 @@ package com.application.view.panels.consultation;
 
 import com.application.view.panels.consultation.dialog.ConsultationDialog;
 import com.application.view.panels.consultation.calendar.ModelDate;
+import com.application.view.panels.consultation.calendar.ModelMonth;
 import com.application.controllers.panels.ConsultationsPanelController;
 import com.application.exceptions.businessException.BusinessException;
 import com.application.exceptions.businessException.ValidationException;
 import com.application.interfaces.IConsultationActionsEvent;
 import com.application.model.dto.CityDTO;
+import com.application.model.dto.ConsultationAgendaDTO;
 import com.application.model.dto.ConsultationDTO;
 import com.application.model.dto.PatientDTO;
 import com.application.model.enumerations.ViewType;
+import com.application.utils.BusyIndicator;
+import com.application.utils.EdtExecutor;
 import com.application.view.panels.patient.PatientDialog;
 import com.application.view.panels.renderers.ConsultationActionsCellRender;
 import com.application.view.panels.renderers.ConsultationProfileCellRender;
@@ -18,6 +22,7 @@ import com.formdev.flatlaf.FlatClientProperties;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import javax.swing.JOptionPane;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
@@ -26,25 +31,37 @@ import static raven.modal.Toast.Type.SUCCESS;
 import com.application.interfaces.IPanelMessages;
 import com.application.interfaces.IConsultationDialog;
 import com.application.interfaces.IPatientDialog;
+import com.application.interfaces.IViewLifecycle;
 import com.application.model.dto.ConsultationPatientDTO;
 
-public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMessages, IConsultationDialog, IPatientDialog {
+public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMessages, IConsultationDialog, IPatientDialog, IViewLifecycle {
 
     private ConsultationsPanelController consultationsPanelController;
     
     ModelDate actualSelectedDate = null;
     
+    private final ConsultationCountCache consultationCountCache;
+    private final BusyIndicator busyIndicator;
+    private long agendaGeneration;
+    
     public ConsultationsPanel() {
         initComponents();
+        busyIndicator = new BusyIndicator(this);
         setStyle();
         
         this.actualSelectedDate = new ModelDate();
+        this.consultationCountCache = new ConsultationCountCache(
+                (fromDate, toDate) -> consultationsPanelController.getConsultationCountsBetweenDates(fromDate, toDate),
+                calendar::repaint,
+                ex -> showErrorMessage("Error al cargar la cantidad de consultas del mes: " + ex.getMessage()));
         
         calendar.addCalendarSelectedListener((MouseEvent evt, ModelDate date) -> {
             actualSelectedDate = date;
             jLabelSelectedDate.setText(String.valueOf(date.getDay()) + "/" + date.getMonth()+ "/" + date.getYear());
             loadTableData(date);    
         });
+        calendar.addCalendarMonthListener(this::loadCalendarCounts);
+        calendar.setDayCountProvider(consultationCountCache::getCount);
         
         initActionsData();
         
@@ -101,6 +118,34 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
     public void setController(ConsultationsPanelController controller) {
         this.consultationsPanelController = controller;
         loadTableData(actualSelectedDate);
+        loadCalendarCounts(calendar.getDisplayedMonth());
+    }
+    
+    /**
+     * Al volver a mostrarse actualiza la agenda del día seleccionado y las
+     * cantidades del calendario, sin reconstruir el panel
+     */
+    @Override
+    public void onShow() {
+        loadTableData(actualSelectedDate);
+        refreshCalendarCounts();
+    }
+    
+    /**
+     * Pide en segundo plano la cantidad de consultas por día del mes mostrado y
+     * de sus meses vecinos; el calendario se repinta al llegar cada mes
+     * @param month mes mostrado en el calendario
+     */
+    private void loadCalendarCounts(ModelMonth month) {
+        consultationCountCache.prefetch(month);
+    }
+    
+    /**
+     * Descarta las cantidades en caché y vuelve a cargar el mes mostrado
+     */
+    private void refreshCalendarCounts() {
+        consultationCountCache.invalidate();
+        loadCalendarCounts(calendar.getDisplayedMonth());
     }
     
     public void loadTableData(ModelDate date) {
@@ -112,22 +157,37 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
 
         tableModel.setRowCount(0);
 
-        List<ConsultationDTO> consultationsDTO = consultationsPanelController.getConsultationsByDate(date.toFormattedDate());
+        final long ticket = ++agendaGeneration;
+        EdtExecutor.whenDone(
+                busyIndicator.track(consultationsPanelController.getConsultationAgendaByDate(date.toFormattedDate())),
+                agendaDTO -> {
+                    // Solo se muestra la agenda del último día pedido
+                    if (ticket == agendaGeneration) {
+                        fillTableData(agendaDTO);
+                    }
+                },
+                error -> {
+                    if (ticket == agendaGeneration) {
+                        showErrorMessage("Error al obtener la agenda del dia: " + error.getMessage());
+                    }
+                });
+    }
+    
+    private void fillTableData(List<ConsultationAgendaDTO> agendaDTO) {
+        DefaultTableModel tableModel = (DefaultTableModel) jTableMain.getModel();
 
-        if (consultationsDTO.isEmpty()) {
-            return;
+        if (jTableMain.isEditing()) {
+            jTableMain.getCellEditor().stopCellEditing();
         }
 
-        for (ConsultationDTO consultationDTO : consultationsDTO) {
-            List<ConsultationPatientDTO> patientsDTO = consultationsPanelController.getPatientsByConsultationId(consultationDTO.getConsultationDTOId());
-
-            if (patientsDTO.isEmpty()) continue;
+        tableModel.setRowCount(0);
 
-            PatientDTO patient = consultationsPanelController.getPatientById(patientsDTO.get(0).getPatientId());
+        for (ConsultationAgendaDTO consultationAgendaDTO : agendaDTO) {
+            ConsultationDTO consultationDTO = consultationAgendaDTO.getConsultationDTO();
 
             tableModel.addRow(new Object[]{
                 consultationDTO.getConsultationDTOStartTime(),
-                patient, 
+                consultationAgendaDTO.getFirstPatientDTO(), 
                 consultationDTO.getConsultationDTOId()
             });
         }
@@ -138,6 +198,7 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
             Boolean inserted = ConsultationDialog.showDialog(this, ViewType.INSERT, "");
             initActionsData();
             loadTableData(actualSelectedDate);
+            refreshCalendarCounts();
             if(inserted) {
                 Toast.show(this, SUCCESS, "Consulta agregada exitosamente");
             }
@@ -163,6 +224,7 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
             Boolean updated = ConsultationDialog.showDialog(this, ViewType.UPDATE, consultationId);
             initActionsData();
             loadTableData(actualSelectedDate);
+            refreshCalendarCounts();
             if(updated) {
                 Toast.show(this, SUCCESS, "Consulta modificada exitosamente");
             }
@@ -172,17 +234,18 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
     }
     
     public void callDialogToDeleteConsultation(String consultationId) {
-        try {
-            Boolean deleted = showConfirmAction("¿Está seguro de eliminar este paciente?");
-            if (deleted) {
-                consultationsPanelController.deleteConsultation(consultationId);
-                Toast.show(this, Toast.Type.SUCCESS, "Consulta eliminada exitosamente");
-            }   
-            initActionsData();
-            loadTableData(actualSelectedDate);
-        } catch (Exception ex) {
-            showErrorMessage("Error al eliminar consulta: " + ex.getMessage());
-        } 
+        if (!showConfirmAction("¿Está seguro de eliminar este paciente?")) {
+            return;
+        }
+        EdtExecutor.whenDone(
+                busyIndicator.track(consultationsPanelController.deleteConsultation(consultationId)),
+                done -> {
+                    Toast.show(this, Toast.Type.SUCCESS, "Consulta eliminada exitosamente");
+                    initActionsData();
+                    loadTableData(actualSelectedDate);
+                    refreshCalendarCounts();
+                },
+                error -> showErrorMessage("Error al eliminar consulta: " + error.getMessage()));
     }
      
     public void callDialogToViewConsultation(String consultationId) {
@@ -228,6 +291,11 @@ public class ConsultationsPanel extends javax.swing.JPanel implements IPanelMess
     public PatientDTO getPatientById(String patientId) {
         return consultationsPanelController.getPatientById(patientId);
     }
+
+    @Override
+    public Map<String, PatientDTO> getPatientsByIds(List<String> patientIds) {
+        return consultationsPanelController.getPatientsByIds(patientIds);
+    }
     
     @Override
     public void openConsultationNotesById(String consultationId) {
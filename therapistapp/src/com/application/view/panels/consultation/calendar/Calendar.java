@@ -3,6 +3,7 @@ package com.application.view.panels.consultation.calendar;
 import com.application.interfaces.ICalendarEventCellRender;
 import com.application.interfaces.ICalendarSelectedListener;
 import com.application.interfaces.ICalendarCellListener;
+import com.application.interfaces.ICalendarMonthListener;
 import com.application.view.panels.renderers.CalendarEventCellRender;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.util.Animator;
@@ -21,6 +22,7 @@ import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.ToIntFunction;
 import javax.swing.JPanel;
 
 public class Calendar extends JPanel {
@@ -30,6 +32,9 @@ public class Calendar extends JPanel {
     private int selected = 1;
     private ICalendarEventCellRender calendarEventCellRender = new CalendarEventCellRender();
     private final List<ICalendarSelectedListener> events = new ArrayList<>();
+    private final List<ICalendarMonthListener> monthEvents = new ArrayList<>();
+    private ToIntFunction<ModelDate> dayCountProvider;
+    private ModelMonth displayedMonth;
 
     public Calendar() {
         init();
@@ -131,6 +136,9 @@ public class Calendar extends JPanel {
             if (calendarEventCellRender != null) {
                 boolean active = panelDay.getSelectedDate() != null && e.compareTo(panelDay.getSelectedDate());
                 calendarEventCellRender.paint(g2, rectangle, active, e);
+                if (dayCountProvider != null) {
+                    calendarEventCellRender.paintCount(g2, rectangle, dayCountProvider.applyAsInt(e));
+                }
                 return active;
             }
             return false;
@@ -147,6 +155,7 @@ public class Calendar extends JPanel {
             @Override
             public void scrollChanged() {
                 panelHeader.showDate(panelDay.getMonthYear());
+                runEventMonthChanged();
             }
 
         });
@@ -155,6 +164,7 @@ public class Calendar extends JPanel {
             public void cellSelected(MouseEvent evt, int index) {
                 changeStatus(1);
                 panelDay.setMonth(panelMonth.getModels().get(index));
+                runEventMonthChanged();
             }
 
             @Override
@@ -222,6 +232,7 @@ public class Calendar extends JPanel {
     public void now() {
         initToDay();
         animateDate();
+        runEventMonthChanged();
     }
 
     public void setSelectedMonth(ModelMonth month) {
@@ -229,6 +240,42 @@ public class Calendar extends JPanel {
         date.setMonth(month.getMonth());
         panelDay.setMonth(new ModelMonth(date.getYear(), date.getMonth()));
         animateDate();
+        runEventMonthChanged();
+    }
+
+    /**
+     * @return copia del mes que se muestra en la vista de días
+     */
+    public ModelMonth getDisplayedMonth() {
+        ModelMonth month = panelDay.getMonth();
+        return new ModelMonth(month.getYear(), month.getMonth());
+    }
+
+    /**
+     * Define de dónde se obtiene la cantidad de consultas que se pinta en cada día
+     * @param dayCountProvider función que devuelve la cantidad para una fecha (0 si no hay)
+     */
+    public void setDayCountProvider(ToIntFunction<ModelDate> dayCountProvider) {
+        this.dayCountProvider = dayCountProvider;
+        repaint();
+    }
+
+    public void addCalendarMonthListener(ICalendarMonthListener event) {
+        monthEvents.add(event);
+    }
+
+    /**
+     * Notifica el cambio de mes solo cuando el mes mostrado es distinto al anterior
+     */
+    private void runEventMonthChanged() {
+        ModelMonth month = getDisplayedMonth();
+        if (month.equals(displayedMonth)) {
+            return;
+        }
+        displayedMonth = month;
+        for (ICalendarMonthListener event : monthEvents) {
+            event.monthChanged(month);
+        }
     }
 
     public Date getSelectedDate() {
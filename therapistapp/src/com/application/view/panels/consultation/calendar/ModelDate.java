@@ -1,5 +1,6 @@
 package com.application.view.panels.consultation.calendar;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -75,6 +76,10 @@ public class ModelDate {
         return calendar.getTime();
     }
 
+    public LocalDate toLocalDate() {
+        return LocalDate.of(year, month, day);
+    }
+
     public ModelMonth toMonth() {
         return new ModelMonth(year, month);
     }
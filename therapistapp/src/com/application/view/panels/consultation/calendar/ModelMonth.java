@@ -33,4 +33,21 @@ public class ModelMonth {
 
     private int year;
     private int month;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ModelMonth)) {
+            return false;
+        }
+        ModelMonth other = (ModelMonth) obj;
+        return year == other.year && month == other.month;
+    }
+
+    @Override
+    public int hashCode() {
+        return year * 12 + month;
+    }
 }
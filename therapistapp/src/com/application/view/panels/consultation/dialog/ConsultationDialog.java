@@ -17,7 +17,9 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
 import javax.swing.table.DefaultTableModel;
@@ -241,9 +243,27 @@ public class ConsultationDialog extends javax.swing.JDialog implements IPanelMes
         
         if (!consultationPatientsDTO.isEmpty()) {
             
-            for (ConsultationPatientDTO consultationPatientDTO : consultationPatientsDTO) {
+            Map<String, PatientDTO> patientsDTO = listener.getPatientsByIds(consultationPatientsDTO.stream()
+                    .map(ConsultationPatientDTO::getPatientId)
+                    .toList());
+            
+            // null: la búsqueda falló y el controlador ya mostró el error
+            if (patientsDTO == null) {
+                return;
+            }
+            
+            // Los pacientes dados de baja ya no pertenecen a la consulta: no se
+            // muestran ni se vuelven a guardar con ella
+            int missingPatients = 0;
+            for (Iterator<ConsultationPatientDTO> iterator = consultationPatientsDTO.iterator(); iterator.hasNext();) {
+                ConsultationPatientDTO consultationPatientDTO = iterator.next();
                 
-                PatientDTO patientDTO = listener.getPatientById(consultationPatientDTO.getPatientId());
+                PatientDTO patientDTO = patientsDTO.get(consultationPatientDTO.getPatientId());
+                if (patientDTO == null) {
+                    iterator.remove();
+                    missingPatients++;
+                    continue;
+                }
                 
                 tableModel.addRow(new Object[]{
                     patientDTO, 
@@ -252,6 +272,12 @@ public class ConsultationDialog extends javax.swing.JDialog implements IPanelMes
                 
             }
             
+            if (missingPatients > 0) {
+                showInformationMessage(missingPatients == 1
+                        ? "Un paciente de la consulta ya no está disponible y no se muestra"
+                        : missingPatients + " pacientes de la consulta ya no están disponibles y no se muestran");
+            }
+            
         }
     }
     
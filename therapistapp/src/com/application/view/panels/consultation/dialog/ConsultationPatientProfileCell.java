@@ -1,17 +1,21 @@
 package com.application.view.panels.consultation.dialog;
 
 import com.application.model.dto.PatientDTO;
-import java.awt.Font;
 
 public class ConsultationPatientProfileCell extends javax.swing.JPanel {
 
-    public ConsultationPatientProfileCell(PatientDTO patientDTO, Font font) {
+    public ConsultationPatientProfileCell() {
         initComponents();
+    }
+
+    /**
+     * Carga los datos del paciente en la celda, permitiendo reutilizarla entre filas
+     * @param patientDTO paciente a mostrar
+     */
+    public final void setPatientDTO(PatientDTO patientDTO) {
         jLabelCompleteName.setText(patientDTO.getPatientDTOFormattedCompleteName());
         jLabelOccupation.setText(patientDTO.getPatienDTOOccupation());
-        if (patientDTO.getPatientDTOPhotoPath() != null) {
-            jLabelPhoto.setIcon(patientDTO.getPatientDTOIcon());
-        }
+        jLabelPhoto.setIcon(patientDTO.getPatientDTOPhotoPath() != null ? patientDTO.getPatientDTOIcon() : null);
     }
     
     @SuppressWarnings("unchecked")
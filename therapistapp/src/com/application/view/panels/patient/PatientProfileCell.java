@@ -1,18 +1,28 @@
 package com.application.view.panels.patient;
 
 import com.application.model.dto.PatientDTO;
-import java.awt.Font;
 
 public class PatientProfileCell extends javax.swing.JPanel {
 
-    public PatientProfileCell(PatientDTO patientDTO, Font font) {
+    public PatientProfileCell() {
         initComponents();
+    }
+
+    /**
+     * Carga los datos del paciente en la celda, permitiendo reutilizarla entre filas
+     * @param patientDTO paciente a mostrar, o null mientras se carga su página
+     */
+    public final void setPatientDTO(PatientDTO patientDTO) {
+        if (patientDTO == null) {
+            jLabelCompleteNameAndAge.setText("Cargando...");
+            jLabelOccupation.setText("");
+            jLabelPhoto.setIcon(null);
+            return;
+        }
         jLabelCompleteNameAndAge.setText(
                 patientDTO.getPatientDTOFormattedCompleteName() + " (" + patientDTO.getPatientDTOActualAge() + ")");
         jLabelOccupation.setText(patientDTO.getPatienDTOOccupation());
-        if (patientDTO.getPatientDTOPhotoPath() != null) {
-            jLabelPhoto.setIcon(patientDTO.getPatientDTOIcon());
-        }
+        jLabelPhoto.setIcon(patientDTO.getPatientDTOPhotoPath() != null ? patientDTO.getPatientDTOIcon() : null);
     }
     
     @SuppressWarnings("unchecked")
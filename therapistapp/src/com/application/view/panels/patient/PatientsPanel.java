@@ -8,26 +8,54 @@ import com.application.exceptions.businessException.ValidationException;
 import com.application.model.dto.CityDTO;
 import com.application.model.dto.PatientDTO;
 import com.application.model.enumerations.ViewType;
+import com.application.utils.BusyIndicator;
+import com.application.utils.DebouncedSearch;
+import com.application.utils.EdtExecutor;
 import com.formdev.flatlaf.FlatClientProperties;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 import raven.modal.Toast;
 import static raven.modal.Toast.Type.SUCCESS;
 import com.application.interfaces.IPanelMessages;
 import com.application.interfaces.IPatientDialog;
+import com.application.interfaces.IViewLifecycle;
 
-public class PatientsPanel extends javax.swing.JPanel implements IPanelMessages, IPatientDialog {
+public class PatientsPanel extends javax.swing.JPanel implements IPanelMessages, IPatientDialog, IViewLifecycle {
+
+    private static final int SEARCH_DELAY_MILLIS = 250;
 
     private PatientsPanelController patientsPanelController;
-    DefaultTableModel tableModel;
+    private final DebouncedSearch<List<PatientDTO>> patientSearch;
+    private final PatientsTableModel tableModel;
+    private final BusyIndicator busyIndicator;
     
     public PatientsPanel() {
         initComponents();
+        busyIndicator = new BusyIndicator(this);
+        tableModel = new PatientsTableModel(
+                new PatientsTableModel.PageSource() {
+                    @Override
+                    public CompletableFuture<Integer> countPatients() {
+                        return busyIndicator.track(patientsPanelController.countPatients());
+                    }
+
+                    @Override
+                    public CompletableFuture<List<PatientDTO>> getPatientsPage(String afterLastName, String afterPatientId, int offset, int limit) {
+                        return busyIndicator.track(patientsPanelController.getPatientsPage(afterLastName, afterPatientId, offset, limit));
+                    }
+                },
+                ex -> showErrorMessage("Error al cargar los pacientes: " + ex.getMessage()));
+        jTableMain.setModel(tableModel);
         setStyle();
         initActionsData();
+        patientSearch = new DebouncedSearch<>(
+                SEARCH_DELAY_MILLIS,
+                term -> patientsPanelController.getPatientsThatMatch(term),
+                this::fillTableData,
+                ex -> showErrorMessage("Error al buscar pacientes: " + ex.getMessage()));
     }
     
     private void initActionsData() {
@@ -85,33 +113,41 @@ public class PatientsPanel extends javax.swing.JPanel implements IPanelMessages,
     }
 
     public void loadTableData() {
-        tableModel = (DefaultTableModel) jTableMain.getModel();
+        patientSearch.cancel();
         if (jTableMain.isEditing()) jTableMain.getCellEditor().stopCellEditing();
-        tableModel.setRowCount(0);
+        tableModel.refresh();
+    }
 
-        try {
-            List<PatientDTO> patientsDTO = patientsPanelController.getAllPatients();
-            for (PatientDTO patientDTO : patientsDTO) {
-                tableModel.addRow(new Object[]{patientDTO, patientDTO.getPatientDTOId()});
-            }
-        } catch (Exception ex) {
-            showErrorMessage("Error al cargar los pacientes: " + ex.getMessage());
+    /**
+     * Al volver a mostrarse repite la búsqueda en curso, o actualiza la lista
+     * paginada manteniendo las filas visibles hasta que llegan los datos nuevos
+     */
+    @Override
+    public void onShow() {
+        if (tableModel.isShowingList()) {
+            patientSearch.submit(jTextFieldSearcher.getText().trim());
+        } else {
+            tableModel.reload();
         }
     }
 
-    private void searchData(String patientLastName) {
-        tableModel = (DefaultTableModel) jTableMain.getModel();
+    @Override
+    public void onHide() {
+        patientSearch.cancel();
         if (jTableMain.isEditing()) jTableMain.getCellEditor().stopCellEditing();
-        tableModel.setRowCount(0);
+    }
 
-        try {
-            List<PatientDTO> patientsDTO = patientsPanelController.getPatientsThatMatch(patientLastName);
-            for (PatientDTO patientDTO : patientsDTO) {
-                tableModel.addRow(new Object[]{patientDTO, patientDTO.getPatientDTOId()});
-            }
-        } catch (Exception ex) {
-            showErrorMessage("Error al buscar pacientes: " + ex.getMessage());
+    private void fillTableData(List<PatientDTO> patientsDTO) {
+        if (jTableMain.isEditing()) jTableMain.getCellEditor().stopCellEditing();
+        tableModel.showList(patientsDTO);
+    }
+
+    private void searchData(String patientData) {
+        if (patientData == null || patientData.isEmpty()) {
+            loadTableData();
+            return;
         }
+        patientSearch.submit(patientData);
     }
     
     public void callDialogToInsertPatient() {
@@ -141,17 +177,17 @@ public class PatientsPanel extends javax.swing.JPanel implements IPanelMessages,
     }
     
     public void callDialogToDeletePatient(String patientId) {
-        try {
-            Boolean deleted = showConfirmAction("¿Está seguro de eliminar este paciente?");
-            if (deleted) {
-                patientsPanelController.deletePatient(patientId);
-                Toast.show(this, Toast.Type.SUCCESS, "Paciente eliminado exitosamente");
-            }          
-            initActionsData();
-            loadTableData();
-        } catch (Exception ex) {
-            showErrorMessage("Error al eliminar paciente: " + ex.getMessage());
-        } 
+        if (!showConfirmAction("¿Está seguro de eliminar este paciente?")) {
+            return;
+        }
+        EdtExecutor.whenDone(
+                busyIndicator.track(patientsPanelController.deletePatient(patientId)),
+                done -> {
+                    Toast.show(this, Toast.Type.SUCCESS, "Paciente eliminado exitosamente");
+                    initActionsData();
+                    loadTableData();
+                },
+                error -> showErrorMessage("Error al eliminar paciente: " + error.getMessage()));
     }
     
     public void callDialogToViewPatient(String patientId) {
@@ -0,0 +1,230 @@
+package com.application.view.panels.patient;
+
+import com.application.model.dto.PatientDTO;
+import com.application.utils.EdtExecutor;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de la tabla de pacientes que carga las filas por páginas a medida que
+ * el usuario se desplaza. Solo mantiene en memoria las páginas visitadas más
+ * recientemente; la cantidad de filas y las páginas se piden fuera del EDT
+ * (los resultados se publican en el EDT) usando paginación por clave
+ * (apellido, id) a partir del último paciente de la página anterior.
+ * También puede mostrar una lista fija, como el resultado de una búsqueda.
+ */
+public class PatientsTableModel extends AbstractTableModel {
+
+    /**
+     * Origen asíncrono de las páginas de pacientes
+     */
+    public interface PageSource {
+        CompletableFuture<Integer> countPatients();
+
+        CompletableFuture<List<PatientDTO>> getPatientsPage(String afterLastName, String afterPatientId, int offset, int limit);
+    }
+
+    public static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 8;
+    private static final String[] COLUMN_NAMES = {"Paciente", "Acciones"};
+
+    private final PageSource pageSource;
+    private final Consumer<Throwable> onError;
+
+    private final Map<Integer, List<PatientDTO>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<PatientDTO>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Último paciente de cada página ya cargada; se conserva aunque la página se descarte
+    private final TreeMap<Integer, PatientDTO> pageLastRows = new TreeMap<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private List<PatientDTO> fixedRows;
+    private int rowCount;
+    private long generation;
+
+    /**
+     * @param pageSource origen de las páginas
+     * @param onError recibe en el EDT los errores de carga
+     */
+    public PatientsTableModel(PageSource pageSource, Consumer<Throwable> onError) {
+        this.pageSource = pageSource;
+        this.onError = onError;
+    }
+
+    /**
+     * Vuelve al modo paginado descartando las páginas en memoria; la tabla queda
+     * vacía hasta que llega la cantidad de pacientes
+     */
+    public void refresh() {
+        resetState();
+        fixedRows = null;
+        rowCount = 0;
+        fireTableDataChanged();
+
+        final long ticket = generation;
+        EdtExecutor.whenDone(pageSource.countPatients(),
+                count -> {
+                    if (ticket == generation) {
+                        rowCount = count;
+                        fireTableDataChanged();
+                    }
+                },
+                error -> {
+                    if (ticket == generation) {
+                        onError.accept(error);
+                    }
+                });
+    }
+
+    /**
+     * Actualiza el modo paginado sin vaciar la tabla: las filas actuales se siguen
+     * mostrando hasta que llega la nueva cantidad de pacientes, y recién entonces
+     * se descartan las páginas en memoria para volver a pedirlas
+     */
+    public void reload() {
+        if (fixedRows != null) {
+            refresh();
+            return;
+        }
+        final long ticket = ++generation;
+        EdtExecutor.whenDone(pageSource.countPatients(),
+                count -> {
+                    if (ticket == generation) {
+                        resetState();
+                        rowCount = count;
+                        fireTableDataChanged();
+                    }
+                },
+                error -> {
+                    if (ticket == generation) {
+                        onError.accept(error);
+                    }
+                });
+    }
+
+    /**
+     * @return true si la tabla muestra una lista fija (por ejemplo, el resultado de una búsqueda)
+     */
+    public boolean isShowingList() {
+        return fixedRows != null;
+    }
+
+    /**
+     * Muestra una lista fija de pacientes (por ejemplo, el resultado de una búsqueda)
+     * @param patientsDTO pacientes a mostrar
+     */
+    public void showList(List<PatientDTO> patientsDTO) {
+        resetState();
+        fixedRows = patientsDTO;
+        rowCount = patientsDTO.size();
+        fireTableDataChanged();
+    }
+
+    /**
+     * @param row fila de la tabla
+     * @return el paciente de la fila, o null si su página todavía no se cargó
+     */
+    public PatientDTO getPatientAt(int row) {
+        if (fixedRows != null) {
+            return fixedRows.get(row);
+        }
+        int pageIndex = row / PAGE_SIZE;
+        List<PatientDTO> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        // Anticipa la página siguiente al acercarse al final de la actual
+        if (row % PAGE_SIZE >= PAGE_SIZE / 2) {
+            requestPage(pageIndex + 1);
+        }
+        int offset = row % PAGE_SIZE;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return columnIndex == 1;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        PatientDTO patientDTO = getPatientAt(rowIndex);
+        if (columnIndex == 0 || patientDTO == null) {
+            return patientDTO;
+        }
+        return patientDTO.getPatientDTOId();
+    }
+
+    private void resetState() {
+        generation++;
+        pages.clear();
+        pageLastRows.clear();
+        pendingPages.clear();
+    }
+
+    /**
+     * Pide la página en segundo plano partiendo de la página cargada más cercana
+     * anterior a ella; si no es la inmediata anterior, se saltean las páginas intermedias.
+     */
+    private void requestPage(int pageIndex) {
+        if (pageIndex * PAGE_SIZE >= rowCount || pages.containsKey(pageIndex) || !pendingPages.add(pageIndex)) {
+            return;
+        }
+        Map.Entry<Integer, PatientDTO> anchor = pageLastRows.lowerEntry(pageIndex);
+        final String afterLastName = anchor != null ? anchor.getValue().getPatientDTOLastName() : null;
+        final String afterPatientId = anchor != null ? anchor.getValue().getPatientDTOId() : null;
+        final int offset = (anchor != null ? pageIndex - anchor.getKey() - 1 : pageIndex) * PAGE_SIZE;
+        final long ticket = generation;
+
+        EdtExecutor.whenDone(pageSource.getPatientsPage(afterLastName, afterPatientId, offset, PAGE_SIZE),
+                page -> publishPage(ticket, pageIndex, page),
+                error -> {
+                    if (ticket == generation) {
+                        pendingPages.remove(pageIndex);
+                        onError.accept(error);
+                    }
+                });
+    }
+
+    private void publishPage(long ticket, int pageIndex, List<PatientDTO> page) {
+        if (ticket != generation) {
+            return;
+        }
+        pendingPages.remove(pageIndex);
+        pages.put(pageIndex, page);
+        if (!page.isEmpty()) {
+            pageLastRows.put(pageIndex, page.get(page.size() - 1));
+        }
+        int firstRow = pageIndex * PAGE_SIZE;
+        int lastRow = Math.min(firstRow + PAGE_SIZE, rowCount) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.application.view.panels.renderers;
 
 import com.formdev.flatlaf.ui.FlatUIUtils;
 import com.formdev.flatlaf.util.UIScale;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import com.application.interfaces.ICalendarEventCellRender;
 import com.application.view.panels.consultation.calendar.ModelDate;
@@ -37,4 +42,34 @@ public class CalendarEventCellRender implements ICalendarEventCellRender<ModelDa
             g2.fill(area);
         }
     }
+
+    /**
+     * Pinta la cantidad de consultas del día como una insignia en la esquina superior
+     * derecha; la opacidad crece con la cantidad para dar una idea de la ocupación
+     */
+    @Override
+    public void paintCount(Graphics2D g2, Rectangle2D rectangle2D, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Graphics2D g = (Graphics2D) g2.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            String text = count > 9 ? "9+" : String.valueOf(count);
+            g.setFont(g.getFont().deriveFont(Font.BOLD, g.getFont().getSize2D() * 0.7f));
+            FontMetrics fm = g.getFontMetrics();
+            float size = Math.max(fm.getHeight(), fm.stringWidth(text) + UIScale.scale(6f));
+            float inset = UIScale.scale(4f);
+            float x = (float) rectangle2D.getWidth() - size - inset;
+            float y = inset;
+            float intensity = Math.min(1f, 0.35f + count * 0.13f);
+            Color accent = FlatUIUtils.getUIColor("Calendar.selectionColor", "Component.accentColor");
+            g.setColor(new Color(accent.getRed(), accent.getGreen(), accent.getBlue(), (int) (255 * intensity)));
+            g.fill(new Ellipse2D.Float(x, y, size, size));
+            g.setColor(Color.WHITE);
+            g.drawString(text, x + (size - fm.stringWidth(text)) / 2f, y + (size - fm.getHeight()) / 2f + fm.getAscent());
+        } finally {
+            g.dispose();
+        }
+    }
 }
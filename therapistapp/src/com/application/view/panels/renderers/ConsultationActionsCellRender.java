@@ -7,10 +7,11 @@ import javax.swing.table.DefaultTableCellRenderer;
 
 public class ConsultationActionsCellRender extends DefaultTableCellRenderer {
 
+    private final PatientActionsCell action = new PatientActionsCell();
+
     @Override
     public Component getTableCellRendererComponent(JTable jtable, Object object, boolean isSeleted, boolean bln1, int row, int column) {
         Component com = super.getTableCellRendererComponent(jtable, object, isSeleted, bln1, row, column);
-        PatientActionsCell action = new PatientActionsCell();
         action.setBackground(com.getBackground());
         return action;
     }
@@ -8,10 +8,11 @@ import javax.swing.table.DefaultTableCellRenderer;
 
 public class ConsultationPatientActionsCellRender extends DefaultTableCellRenderer {
 
+    private final ConsultationPatientActionsCell action = new ConsultationPatientActionsCell();
+
     @Override
     public Component getTableCellRendererComponent(JTable jtable, Object object, boolean isSelected, boolean hasFocus, int row, int column) {
         ConsultationPatientDTO consultationPatient = (ConsultationPatientDTO) object;
-        ConsultationPatientActionsCell action = new ConsultationPatientActionsCell();
         action.setIsPaid(Boolean.parseBoolean(consultationPatient.getIsPaid()));
         action.setBackground(jtable.getBackground());
         return action;
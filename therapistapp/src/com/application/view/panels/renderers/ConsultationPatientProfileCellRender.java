@@ -9,15 +9,17 @@ import javax.swing.table.TableCellRenderer;
 public class ConsultationPatientProfileCellRender implements TableCellRenderer {
 
     private final TableCellRenderer oldCellRenderer;
+    private final ConsultationPatientProfileCell cell;
 
     public ConsultationPatientProfileCellRender(JTable table) {
         oldCellRenderer = table.getDefaultRenderer(Object.class);
+        cell = new ConsultationPatientProfileCell();
     }
 
     @Override
     public Component getTableCellRendererComponent(JTable jtable, Object object, boolean bln, boolean bln1, int i, int i1) {
         Component com = oldCellRenderer.getTableCellRendererComponent(jtable, object, bln, bln1, i, i1);
-        ConsultationPatientProfileCell cell = new ConsultationPatientProfileCell((PatientDTO) object, com.getFont());
+        cell.setPatientDTO((PatientDTO) object);
         cell.setBackground(com.getBackground());
         return cell;
     }
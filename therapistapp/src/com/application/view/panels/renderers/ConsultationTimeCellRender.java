@@ -8,15 +8,17 @@ import javax.swing.table.TableCellRenderer;
 public class ConsultationTimeCellRender implements TableCellRenderer {
 
     private final TableCellRenderer oldCellRenderer;
+    private final ConsultationTimeCell cell;
 
     public ConsultationTimeCellRender(JTable table) {
         oldCellRenderer = table.getDefaultRenderer(Object.class);
+        cell = new ConsultationTimeCell();
     }
 
     @Override
     public Component getTableCellRendererComponent(JTable jtable, Object object, boolean bln, boolean bln1, int i, int i1) {
         Component com = oldCellRenderer.getTableCellRendererComponent(jtable, object, bln, bln1, i, i1);
-        ConsultationTimeCell cell = new ConsultationTimeCell((String) object, com.getFont());
+        cell.setConsultationTime((String) object);
         cell.setBackground(com.getBackground());
         return cell;
     }
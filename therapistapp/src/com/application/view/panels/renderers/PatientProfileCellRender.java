@@ -9,15 +9,17 @@ import javax.swing.table.TableCellRenderer;
 public class PatientProfileCellRender implements TableCellRenderer {
 
     private final TableCellRenderer oldCellRenderer;
+    private final PatientProfileCell cell;
 
     public PatientProfileCellRender(JTable table) {
         oldCellRenderer = table.getDefaultRenderer(Object.class);
+        cell = new PatientProfileCell();
     }
 
     @Override
     public Component getTableCellRendererComponent(JTable jtable, Object object, boolean bln, boolean bln1, int i, int i1) {
         Component com = oldCellRenderer.getTableCellRendererComponent(jtable, object, bln, bln1, i, i1);
-        PatientProfileCell cell = new PatientProfileCell((PatientDTO) object, com.getFont());
+        cell.setPatientDTO((PatientDTO) object);
         cell.setBackground(com.getBackground());
         return cell;
     }